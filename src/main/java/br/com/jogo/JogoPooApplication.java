@@ -2,8 +2,10 @@ package br.com.jogo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class JogoPooApplication {
 
 	public static void main(String[] args) {
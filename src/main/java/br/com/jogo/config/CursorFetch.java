@@ -0,0 +1,29 @@
+package br.com.jogo.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Liga o useCursorFetch do Connector/J em todo pool do MySQL, seja o
+ * DataSource padrão do Spring Boot, seja o primário ou a réplica do
+ * {@link DataSourceConfig}. Sem ele o driver ignora o fetch size e carrega o
+ * resultado inteiro em memória, o que derruba a exportação em streaming. Roda
+ * depois da ligação das propriedades, quando a URL já é conhecida, e antes do
+ * pool abrir a primeira conexão; outros bancos recusam a propriedade.
+ */
+@Component
+public class CursorFetch implements BeanPostProcessor {
+
+	public static final String PROPRIEDADE = "useCursorFetch";
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof HikariDataSource dataSource && dataSource.getJdbcUrl() != null
+				&& dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+			dataSource.addDataSourceProperty(PROPRIEDADE, "true");
+		}
+		return bean;
+	}
+}
@@ -0,0 +1,63 @@
+package br.com.jogo.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Só entra em ação com uma réplica configurada em
+ * {@code jogo.datasource.replica.jdbc-url} (e, se preciso, username, password e
+ * demais opções do Hikari no mesmo prefixo). Sem ela o Spring Boot monta o
+ * DataSource de sempre.
+ */
+@Configuration
+@ConditionalOnProperty("jogo.datasource.replica.jdbc-url")
+public class DataSourceConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	HikariDataSource primarioDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primario");
+		return dataSource;
+	}
+
+	@Bean
+	@ConfigurationProperties("jogo.datasource.replica")
+	HikariDataSource replicaDataSource() {
+		HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).build();
+		dataSource.setPoolName("replica");
+		return dataSource;
+	}
+
+	@Bean
+	@Primary
+	DataSource dataSource(@Qualifier("primarioDataSource") DataSource primario,
+			@Qualifier("replicaDataSource") DataSource replica,
+			@Value("${jogo.datasource.replica-espera:30000}") long espera) {
+		RoutingDataSource routing = new RoutingDataSource(primario, replica, espera);
+		routing.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	// antes do filtro de segurança, para que a busca da credencial também siga a regra
+	@Bean
+	FilterRegistrationBean<RoutingFilter> routingFilter() {
+		FilterRegistrationBean<RoutingFilter> registration = new FilterRegistrationBean<>(new RoutingFilter());
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+}
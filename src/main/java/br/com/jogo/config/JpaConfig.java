@@ -0,0 +1,31 @@
+package br.com.jogo.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+	@Bean
+	HibernatePropertiesCustomizer hibernatePropertiesCustomizer() {
+		return properties -> {
+			properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+			// um único IN com as chaves pendentes em vez de lotes de tamanhos fixos
+			properties.put(AvailableSettings.BATCH_FETCH_STYLE, "DYNAMIC");
+			// com ids alocados em blocos os INSERTs deixam de depender do banco e podem ir em lote
+			properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, 50);
+			properties.put(AvailableSettings.ORDER_INSERTS, true);
+			properties.put(AvailableSettings.ORDER_UPDATES, true);
+			// dados de referência (categorias, questões, alternativas e itens) ficam em memória; as regiões
+			// e seus tamanhos estão no ehcache.xml e uma região não declarada impede a inicialização
+			properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+			properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+			properties.put("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+			properties.put("hibernate.javax.cache.uri", "ehcache.xml");
+			properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+			properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+			properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+		};
+	}
+}
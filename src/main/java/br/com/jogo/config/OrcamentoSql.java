@@ -0,0 +1,53 @@
+package br.com.jogo.config;
+
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conta os comandos SQL de uma chamada de resposta, commit incluído, e os
+ * compara com {@code jogo.resposta.orcamento-sql} por resposta. Em produção o
+ * excesso vai para o log e a resposta segue; com
+ * {@code jogo.resposta.orcamento-sql-estrito}, que os testes ligam, a chamada
+ * falha.
+ */
+@Component
+public class OrcamentoSql {
+
+	private static final Logger LOG = LoggerFactory.getLogger(OrcamentoSql.class);
+
+	@Value("${jogo.resposta.orcamento-sql:8}")
+	private int orcamento;
+	@Value("${jogo.resposta.orcamento-sql-estrito:false}")
+	private boolean estrito;
+
+	public <T> T run(Integer registroPartidaId, int respostas, Supplier<T> acao) {
+		StatementCounter.start();
+		boolean concluida = false;
+		try {
+			T obj = acao.get();
+			concluida = true;
+			return obj;
+		} finally {
+			check(registroPartidaId, StatementCounter.stop(), respostas, concluida);
+		}
+	}
+
+	// uma chamada que já falhou não troca a exceção dela pela do orçamento
+	private void check(Integer registroPartidaId, int comandos, int respostas, boolean concluida) {
+		if (comandos <= orcamento * respostas) {
+			LOG.debug("Resposta da partida {} usou {} comandos SQL para {} resposta(s)", registroPartidaId, comandos,
+					respostas);
+			return;
+		}
+		LOG.warn("Resposta da partida {} usou {} comandos SQL para {} resposta(s) (orçamento: {} por resposta)",
+				registroPartidaId, comandos, respostas, orcamento);
+		if (estrito && concluida) {
+			throw new IllegalStateException("Resposta da partida " + registroPartidaId + " usou " + comandos
+					+ " comandos SQL, acima do orçamento de " + orcamento * respostas);
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package br.com.jogo.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envia as transações somente leitura para a réplica e o resto para o banco
+ * primário. Precisa ficar atrás de um LazyConnectionDataSourceProxy: o Spring
+ * só marca a transação como somente leitura depois de pedir a conexão, e o
+ * proxy adia a escolha até o primeiro comando.
+ *
+ * Se a réplica não entregar uma conexão, o pedido vai para o primário e a
+ * réplica fica de fora por {@code espera} milissegundos.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+	public enum Destino {
+		PRIMARIO, REPLICA
+	}
+
+	private static final Logger LOG = LoggerFactory.getLogger(RoutingDataSource.class);
+	private static final ThreadLocal<Destino> DESTINO = new ThreadLocal<>();
+
+	private final DataSource primario;
+	private final DataSource replica;
+	private final long espera;
+	private volatile long replicaIndisponivelAte;
+
+	public RoutingDataSource(DataSource primario, DataSource replica, long espera) {
+		this.primario = primario;
+		this.replica = replica;
+		this.espera = espera;
+		setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+		setDefaultTargetDataSource(primario);
+	}
+
+	/**
+	 * Fixa o destino das conexões pedidas pela thread atual, independente de a
+	 * transação ser somente leitura. {@code null} volta à escolha pela transação.
+	 */
+	public static void use(Destino destino) {
+		if (destino == null) {
+			DESTINO.remove();
+		} else {
+			DESTINO.set(destino);
+		}
+	}
+
+	@Override
+	protected Destino determineCurrentLookupKey() {
+		Destino destino = DESTINO.get();
+		if (destino == null) {
+			destino = TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Destino.REPLICA
+					: Destino.PRIMARIO;
+		}
+		if (destino == Destino.REPLICA && System.currentTimeMillis() < replicaIndisponivelAte) {
+			return Destino.PRIMARIO;
+		}
+		return destino;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		DataSource alvo = determineTargetDataSource();
+		if (alvo != replica) {
+			return alvo.getConnection();
+		}
+		try {
+			return replica.getConnection();
+		} catch (SQLException e) {
+			replicaIndisponivelAte = System.currentTimeMillis() + espera;
+			LOG.warn("Réplica indisponível, usando o primário pelos próximos " + espera + " ms: " + e.getMessage());
+			return primario.getConnection();
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package br.com.jogo.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import br.com.jogo.config.RoutingDataSource.Destino;
+
+/**
+ * Quem escolhe a réplica é a transação somente leitura, inclusive a dos
+ * repositórios chamados fora de um serviço transacional. Este filtro prende no
+ * primário as requisições que precisam ler o que acabaram de gravar: as que não
+ * são GET, para que uma leitura antes da escrita veja o estado atual, e os GETs
+ * da partida em andamento e do próprio jogador, logo depois de uma resposta ou
+ * alteração. A busca da credencial na autenticação é uma consulta declarada
+ * no repositório, sem transação, e por isso também vai ao primário: na réplica
+ * um token revogado continuaria valendo durante o atraso.
+ */
+public class RoutingFilter extends OncePerRequestFilter {
+
+	static final List<String> PRIMARIO = List.of("/partidas/{id:\\d+}/**", "/partidas/jogador/**",
+			"/jogadores/{id:\\d+}/**", "/jogadores/email", "/admins/**");
+
+	private final PathMatcher matcher = new AntPathMatcher();
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String method = request.getMethod();
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		if (!("GET".equals(method) || "HEAD".equals(method))
+				|| PRIMARIO.stream().anyMatch(x -> matcher.match(x, path))) {
+			RoutingDataSource.use(Destino.PRIMARIO);
+		}
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			RoutingDataSource.use(null);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package br.com.jogo.config;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Em bancos sem sequências (MySQL) o Hibernate emula cada sequência com uma
+ * tabela de uma linha. Quando essa tabela é criada sobre dados que já existiam,
+ * com ids gerados por IDENTITY ou pela tabela antiga, ela começa do 1; aqui o
+ * próximo valor é levado para depois do maior id de cada tabela. As
+ * sequências, suas alocações e as tabelas de cada uma vêm do metamodelo do
+ * Hibernate.
+ */
+@Component
+public class SequenceAligner {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SequenceAligner.class);
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@PostConstruct
+	public void align() {
+		Map<String, Integer> alocacoes = new TreeMap<>();
+		Map<String, Set<String>> tabelas = new TreeMap<>();
+		for (EntityPersister p : entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMetamodel()
+				.entityPersisters().values()) {
+			// nas hierarquias TABLE_PER_CLASS a raiz abstrata não tem tabela e as folhas dividem a sequência
+			if (p.getEntityMetamodel().isAbstract() || !(p instanceof AbstractEntityPersister persister)
+					|| !(p.getIdentifierGenerator() instanceof SequenceStyleGenerator gerador)) {
+				continue;
+			}
+			DatabaseStructure estrutura = gerador.getDatabaseStructure();
+			String sequencia = estrutura.getPhysicalName().getObjectName().getText();
+			alocacoes.put(sequencia, estrutura.getIncrementSize());
+			tabelas.computeIfAbsent(sequencia, k -> new TreeSet<>()).add(persister.getTableName());
+		}
+		for (Map.Entry<String, Set<String>> e : tabelas.entrySet()) {
+			if (!isTable(e.getKey())) {
+				continue;
+			}
+			long maior = 0;
+			for (String tabela : e.getValue()) {
+				Long max = jdbcTemplate.queryForObject("select max(id) from " + tabela, Long.class);
+				maior = Math.max(maior, max != null ? max : 0);
+			}
+			// o otimizador pooled entrega os ids do bloco que termina no valor lido
+			long proximo = maior + alocacoes.get(e.getKey()) + 1;
+			int linhas = jdbcTemplate.update("update " + e.getKey() + " set next_val = ? where next_val < ?", proximo,
+					proximo);
+			if (linhas > 0) {
+				LOG.info("Sequência " + e.getKey() + " ajustada para " + proximo);
+			}
+		}
+	}
+
+	private boolean isTable(String nome) {
+		return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) c -> {
+			DatabaseMetaData meta = c.getMetaData();
+			try (ResultSet rs = meta.getTables(c.getCatalog(), null, nome, new String[] { "TABLE" })) {
+				return rs.next();
+			}
+		}));
+	}
+}
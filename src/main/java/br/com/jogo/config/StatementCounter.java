@@ -0,0 +1,32 @@
+package br.com.jogo.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pela thread atual entre {@link #start()} e
+ * {@link #stop()}. Fora de uma contagem não faz nada.
+ */
+public class StatementCounter implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+	private static final ThreadLocal<int[]> CONTADOR = new ThreadLocal<>();
+
+	public static void start() {
+		CONTADOR.set(new int[1]);
+	}
+
+	public static int stop() {
+		int[] contador = CONTADOR.get();
+		CONTADOR.remove();
+		return contador != null ? contador[0] : 0;
+	}
+
+	@Override
+	public String inspect(String sql) {
+		int[] contador = CONTADOR.get();
+		if (contador != null) {
+			contador[0]++;
+		}
+		return sql;
+	}
+}
@@ -0,0 +1,19 @@
+package br.com.jogo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+	// respostas em streaming, como a exportação de partidas, passam do timeout padrão do container
+	@Value("${jogo.exportacao.timeout:3600000}")
+	private long timeout;
+
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		configurer.setDefaultTimeout(timeout);
+	}
+}
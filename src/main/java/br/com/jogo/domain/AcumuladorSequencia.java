@@ -0,0 +1,58 @@
+package br.com.jogo.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * Sequência do último diário do acumulador aplicado ao banco, gravada na mesma
+ * transação do lote. Na inicialização, diários com sequência menor ou igual já
+ * foram aplicados e não são reaplicados.
+ */
+@Entity
+public class AcumuladorSequencia implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	private Integer id;
+	private long sequencia;
+
+	public AcumuladorSequencia() {
+	}
+
+	public AcumuladorSequencia(Integer id, long sequencia) {
+		this.id = id;
+		this.sequencia = sequencia;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public long getSequencia() {
+		return sequencia;
+	}
+
+	public void setSequencia(long sequencia) {
+		this.sequencia = sequencia;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		AcumuladorSequencia other = (AcumuladorSequencia) obj;
+		return Objects.equals(id, other.id);
+	}
+}
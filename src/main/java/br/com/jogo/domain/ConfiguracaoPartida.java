@@ -1,6 +1,9 @@
 package br.com.jogo.domain;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
@@ -11,9 +14,15 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
+import javax.persistence.Lob;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
+
+import org.hibernate.annotations.BatchSize;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import br.com.jogo.domain.exceptions.AlreadPresetedException;
 
@@ -22,7 +31,8 @@ public class ConfiguracaoPartida implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "configuracao_partida_seq")
+	@SequenceGenerator(name = "configuracao_partida_seq", sequenceName = "configuracao_partida_seq", allocationSize = 50)
 	private Integer id;
 	private int nivel;
 	private boolean predefinida;
@@ -31,14 +41,19 @@ public class ConfiguracaoPartida implements Serializable {
 	@ManyToOne
 	@JoinColumn(name = "jogador_id")
 	private Jogador jogador;
+	@BatchSize(size = 50)
 	@ManyToMany(cascade = CascadeType.ALL)
 	@JoinTable(name = "configuracaopartidas_questoes", joinColumns = {
 			@JoinColumn(name = "configuracao_partida_id") }, inverseJoinColumns = { @JoinColumn(name = "questao_id") })
 	private Set<Questao> questoes;
+	@BatchSize(size = 50)
 	@ManyToMany
 	@JoinTable(name = "configuracaopartidas_categorias", joinColumns = {
 			@JoinColumn(name = "configuracaopartida_id") }, inverseJoinColumns = { @JoinColumn(name = "categoria_id") })
 	private Set<Categoria> categorias;
+	@JsonIgnore
+	@Lob
+	private byte[] baralho;
 
 	public ConfiguracaoPartida() {
 	}
@@ -136,8 +151,42 @@ public class ConfiguracaoPartida implements Serializable {
 		this.categorias = categorias;
 	}
 	
+	public byte[] getBaralho() {
+		return baralho;
+	}
+
+	public void setBaralho(byte[] baralho) {
+		this.baralho = baralho;
+	}
+
+	public void setBaralho(int[] questoesIds) {
+		ByteBuffer buffer = ByteBuffer.allocate(questoesIds.length * Integer.BYTES);
+		buffer.asIntBuffer().put(questoesIds);
+		this.baralho = buffer.array();
+	}
+
+	public int tamanhoBaralho() {
+		return baralho == null ? 0 : baralho.length / Integer.BYTES;
+	}
+
+	public Integer questaoDoBaralho(int posicao) {
+		if (posicao < 0 || posicao >= tamanhoBaralho()) {
+			return null;
+		}
+		return ByteBuffer.wrap(baralho).getInt(posicao * Integer.BYTES);
+	}
+
+	public void truncateBaralho(int tamanho) {
+		if (tamanho < tamanhoBaralho()) {
+			baralho = Arrays.copyOf(baralho, tamanho * Integer.BYTES);
+		}
+	}
+
 	public void toPreseted() throws AlreadPresetedException {
 		if(!predefinida) {
+			if (this.categorias == null) {
+				this.categorias = new HashSet<>();
+			}
 			this.categorias.addAll(questoes.stream().map(q -> q.getCategoria()).toList());
 			this.nivel = questoes.stream().map(q -> q.getNivel()).max(Integer::compare).get();
 			this.predefinida = true;
@@ -0,0 +1,91 @@
+package br.com.jogo.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import br.com.jogo.domain.enums.Role;
+
+/**
+ * Cópia enxuta dos dados de login de cada usuário. Com Usuario mapeado em
+ * TABLE_PER_CLASS toda busca por e-mail vira um UNION entre admin e jogador;
+ * a autenticação lê só esta tabela, indexada pelo e-mail.
+ */
+@Entity
+public class Credencial implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	private Integer usuarioId;
+	@Column(unique = true, nullable = false)
+	private String email;
+	private Integer role;
+	private String senha;
+	private int versaoToken;
+
+	public Credencial() {
+	}
+
+	public Credencial(Integer usuarioId, String email, Integer role, String senha) {
+		this.usuarioId = usuarioId;
+		this.email = email;
+		this.role = role;
+		this.senha = senha;
+	}
+
+	public Credencial(Usuario obj) {
+		this(obj.getId(), obj.getEmail(), obj.getRole().getCod(), obj.getSenha());
+	}
+
+	public Integer getUsuarioId() {
+		return usuarioId;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public Role getRole() {
+		return Role.toEnum(role);
+	}
+
+	public String getSenha() {
+		return senha;
+	}
+
+	public void setSenha(String senha) {
+		this.senha = senha;
+	}
+
+	public int getVersaoToken() {
+		return versaoToken;
+	}
+
+	public void addVersaoToken() {
+		this.versaoToken++;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(usuarioId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		Credencial other = (Credencial) obj;
+		return Objects.equals(usuarioId, other.usuarioId);
+	}
+}
@@ -5,22 +5,26 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
-import javax.persistence.FetchType;
-import javax.persistence.JoinColumn;
 import javax.persistence.OneToMany;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 @Entity
 public class Jogador extends Usuario {
 
 	private static final long serialVersionUID = 1L;
+	@Column(updatable = false)
 	private int qtdPartidas;
+	@Column(updatable = false)
 	private int pontuacaoTotal;
+	@Column(updatable = false)
 	private int saldo;
 	private LocalDate ultimoAcesso;
 	private int qtdAcessosContinuo;
-	@OneToMany(fetch = FetchType.EAGER)
-	@JoinColumn(name = "jogador_id")
+	@JsonIgnore
+	@OneToMany(mappedBy = "jogador")
 	private List<RegistroPartida> partidas;
 	@OneToMany(mappedBy = "id.jogador")
 	private Set<ItemJogador> itens = new HashSet<>();
@@ -0,0 +1,91 @@
+package br.com.jogo.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Melhor pontuação de cada jogador em cada configuração de partida, mantida
+ * ao fim de cada partida para o ranking por configuração.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_melhorpontuacao_configuracao_pontuacao", columnList = "configuracao_partida_id, pontuacao"))
+public class MelhorPontuacao implements Persistable<MelhorPontuacaoPK>, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@EmbeddedId
+	private MelhorPontuacaoPK id;
+	private String nomeUsuario;
+	private int pontuacao;
+	// a chave é atribuída, então sem isso o save faria um merge com select antes do insert
+	@Transient
+	private boolean novo;
+
+	public MelhorPontuacao() {
+	}
+
+	public MelhorPontuacao(Integer configuracaoPartidaId, Integer jogadorId, String nomeUsuario, int pontuacao) {
+		this.id = new MelhorPontuacaoPK(configuracaoPartidaId, jogadorId);
+		this.nomeUsuario = nomeUsuario;
+		this.pontuacao = pontuacao;
+		this.novo = true;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.novo = false;
+	}
+
+	@Override
+	public boolean isNew() {
+		return novo;
+	}
+
+	@Override
+	public MelhorPontuacaoPK getId() {
+		return id;
+	}
+
+	public String getNomeUsuario() {
+		return nomeUsuario;
+	}
+
+	public void setNomeUsuario(String nomeUsuario) {
+		this.nomeUsuario = nomeUsuario;
+	}
+
+	public int getPontuacao() {
+		return pontuacao;
+	}
+
+	public void setPontuacao(int pontuacao) {
+		this.pontuacao = pontuacao;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		MelhorPontuacao other = (MelhorPontuacao) obj;
+		return Objects.equals(id, other.id);
+	}
+}
@@ -0,0 +1,51 @@
+package br.com.jogo.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+@Embeddable
+public class MelhorPontuacaoPK implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Column(name = "configuracao_partida_id")
+	private Integer configuracaoPartidaId;
+	@Column(name = "jogador_id")
+	private Integer jogadorId;
+
+	public MelhorPontuacaoPK() {
+	}
+
+	public MelhorPontuacaoPK(Integer configuracaoPartidaId, Integer jogadorId) {
+		this.configuracaoPartidaId = configuracaoPartidaId;
+		this.jogadorId = jogadorId;
+	}
+
+	public Integer getConfiguracaoPartidaId() {
+		return configuracaoPartidaId;
+	}
+
+	public Integer getJogadorId() {
+		return jogadorId;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(configuracaoPartidaId, jogadorId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		MelhorPontuacaoPK other = (MelhorPontuacaoPK) obj;
+		return Objects.equals(configuracaoPartidaId, other.configuracaoPartidaId)
+				&& Objects.equals(jogadorId, other.jogadorId);
+	}
+}
@@ -3,24 +3,32 @@ package br.com.jogo.domain;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.Set;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
-import javax.persistence.JoinTable;
-import javax.persistence.ManyToMany;
+import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import br.com.jogo.domain.codec.DeltaVarIntCodec;
 
 @Entity
+@Table(indexes = { @Index(name = "idx_registropartida_pontuacao_id", columnList = "pontuacao, id"),
+		@Index(name = "idx_registropartida_jogador_id", columnList = "jogador_id, id") })
 public class RegistroPartida implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registro_partida_seq")
+	@SequenceGenerator(name = "registro_partida_seq", sequenceName = "registro_partida_seq", allocationSize = 50)
 	private Integer id;
 	private LocalDateTime momento;
 	@ManyToOne
@@ -34,10 +42,11 @@ public class RegistroPartida implements Serializable {
 	@ManyToOne(cascade = CascadeType.ALL)
 	@JoinColumn(name = "configuracaopartida_id")
 	private ConfiguracaoPartida configuracaoPartida;
-	@ManyToMany(cascade = CascadeType.ALL)
-	@JoinTable(name = "registropartidas_questoes", joinColumns = {
-			@JoinColumn(name = "partida_id") }, inverseJoinColumns = { @JoinColumn(name = "questao_id") })
-	private Set<Questao> questoesRespondidas;
+	@JsonIgnore
+	@Lob
+	private byte[] questoesRespondidas;
+	@JsonIgnore
+	private int posicaoBaralho;
 
 	public RegistroPartida() {
 	}
@@ -51,12 +60,12 @@ public class RegistroPartida implements Serializable {
 	}
 
 	public RegistroPartida(Integer id, LocalDateTime momento, boolean ativa, int pontuacao, Questao ultimaQuestao,
-			Set<Questao> questoesRespondidas) {
+			int[] questoesRespondidas) {
 		this.id = id;
 		this.momento = momento;
 		this.ativa = ativa;
 		this.pontuacao = pontuacao;
-		this.questoesRespondidas = questoesRespondidas;
+		this.questoesRespondidas = DeltaVarIntCodec.encode(questoesRespondidas);
 	}
 
 	public Integer getId() {
@@ -103,6 +112,14 @@ public class RegistroPartida implements Serializable {
 		this.ultimaQuestao = ultimaQuestao;
 	}
 
+	public int getPosicaoBaralho() {
+		return posicaoBaralho;
+	}
+
+	public void setPosicaoBaralho(int posicaoBaralho) {
+		this.posicaoBaralho = posicaoBaralho;
+	}
+
 	public Jogador getJogador() {
 		return jogador;
 	}
@@ -119,16 +136,20 @@ public class RegistroPartida implements Serializable {
 		this.configuracaoPartida = configuracaopartida;
 	}
 
-	public Set<Questao> getQuestoesRepondias() {
+	public byte[] getQuestoesRespondidas() {
 		return questoesRespondidas;
 	}
 
-	public void setQuestoesRespondidas(Set<Questao> questoes) {
-		this.questoesRespondidas = questoes;
+	public void setQuestoesRespondidas(byte[] questoesRespondidas) {
+		this.questoesRespondidas = questoesRespondidas;
+	}
+
+	public int[] getQuestoesRespondidasIds() {
+		return DeltaVarIntCodec.decode(questoesRespondidas);
 	}
 
-	public void addQuestoes(Questao questao) {
-		this.questoesRespondidas.add(questao);
+	public void addQuestaoRespondida(Integer questaoId) {
+		this.questoesRespondidas = DeltaVarIntCodec.add(questoesRespondidas, questaoId);
 	}
 
 	@Override
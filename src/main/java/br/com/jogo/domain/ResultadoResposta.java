@@ -0,0 +1,35 @@
+package br.com.jogo.domain;
+
+import br.com.jogo.domain.enums.Veredito;
+
+public class ResultadoResposta {
+
+	private final Veredito veredito;
+	private final int pontuacao;
+	private final Questao proximaQuestao;
+	private final Alternativa alternativaCorreta;
+
+	public ResultadoResposta(Veredito veredito, int pontuacao, Questao proximaQuestao,
+			Alternativa alternativaCorreta) {
+		this.veredito = veredito;
+		this.pontuacao = pontuacao;
+		this.proximaQuestao = proximaQuestao;
+		this.alternativaCorreta = alternativaCorreta;
+	}
+
+	public Veredito getVeredito() {
+		return veredito;
+	}
+
+	public int getPontuacao() {
+		return pontuacao;
+	}
+
+	public Questao getProximaQuestao() {
+		return proximaQuestao;
+	}
+
+	public Alternativa getAlternativaCorreta() {
+		return alternativaCorreta;
+	}
+}
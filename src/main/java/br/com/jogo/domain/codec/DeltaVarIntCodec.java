@@ -0,0 +1,156 @@
+package br.com.jogo.domain.codec;
+
+import java.util.Arrays;
+
+/**
+ * Codifica um conjunto de ids inteiros positivos como a sequência ordenada das
+ * diferenças entre ids consecutivos, cada uma escrita em varint (7 bits por
+ * byte). Ids próximos custam um byte cada.
+ */
+public final class DeltaVarIntCodec {
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private DeltaVarIntCodec() {
+	}
+
+	public static byte[] encode(int[] ids) {
+		if (ids == null || ids.length == 0) {
+			return EMPTY;
+		}
+		int[] sorted = Arrays.stream(ids).sorted().distinct().toArray();
+		int tamanho = 0;
+		int anterior = 0;
+		for (int id : sorted) {
+			tamanho += varIntSize(id - anterior);
+			anterior = id;
+		}
+		byte[] out = new byte[tamanho];
+		int pos = 0;
+		anterior = 0;
+		for (int id : sorted) {
+			pos = writeVarInt(out, pos, id - anterior);
+			anterior = id;
+		}
+		return out;
+	}
+
+	public static int[] decode(byte[] data) {
+		if (data == null || data.length == 0) {
+			return new int[0];
+		}
+		int[] ids = new int[data.length];
+		int n = 0;
+		int atual = 0;
+		int delta = 0;
+		int shift = 0;
+		for (byte b : data) {
+			delta |= (b & 0x7f) << shift;
+			if ((b & 0x80) != 0) {
+				shift += 7;
+			} else {
+				atual += delta;
+				ids[n++] = atual;
+				delta = 0;
+				shift = 0;
+			}
+		}
+		return Arrays.copyOf(ids, n);
+	}
+
+	public static boolean contains(byte[] data, int id) {
+		if (data == null) {
+			return false;
+		}
+		int atual = 0;
+		int delta = 0;
+		int shift = 0;
+		for (byte b : data) {
+			delta |= (b & 0x7f) << shift;
+			if ((b & 0x80) != 0) {
+				shift += 7;
+			} else {
+				atual += delta;
+				if (atual >= id) {
+					return atual == id;
+				}
+				delta = 0;
+				shift = 0;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Insere o id sem decodificar o conjunto: percorre os bytes até a posição do
+	 * id e troca só o delta seguinte, que passa a ser contado a partir dele.
+	 */
+	public static byte[] add(byte[] data, int id) {
+		if (data == null) {
+			data = EMPTY;
+		}
+		int atual = 0;
+		int delta = 0;
+		int shift = 0;
+		int inicio = 0;
+		for (int i = 0; i < data.length; i++) {
+			byte b = data[i];
+			delta |= (b & 0x7f) << shift;
+			if ((b & 0x80) != 0) {
+				shift += 7;
+				continue;
+			}
+			int proximo = atual + delta;
+			if (proximo == id) {
+				return data;
+			}
+			if (proximo > id) {
+				return splice(data, inicio, i + 1, id - atual, proximo - id);
+			}
+			atual = proximo;
+			delta = 0;
+			shift = 0;
+			inicio = i + 1;
+		}
+		return splice(data, data.length, data.length, id - atual);
+	}
+
+	public static int[] difference(int[] ids, byte[] data) {
+		int[] excluidos = decode(data);
+		return Arrays.stream(ids).filter(id -> Arrays.binarySearch(excluidos, id) < 0).toArray();
+	}
+
+	// troca os bytes entre de e ate pelos deltas informados
+	private static byte[] splice(byte[] data, int de, int ate, int... deltas) {
+		int tamanho = 0;
+		for (int delta : deltas) {
+			tamanho += varIntSize(delta);
+		}
+		byte[] out = new byte[data.length - (ate - de) + tamanho];
+		System.arraycopy(data, 0, out, 0, de);
+		int pos = de;
+		for (int delta : deltas) {
+			pos = writeVarInt(out, pos, delta);
+		}
+		System.arraycopy(data, ate, out, pos, data.length - ate);
+		return out;
+	}
+
+	private static int varIntSize(int valor) {
+		int n = 1;
+		while ((valor & ~0x7f) != 0) {
+			valor >>>= 7;
+			n++;
+		}
+		return n;
+	}
+
+	private static int writeVarInt(byte[] out, int pos, int valor) {
+		while ((valor & ~0x7f) != 0) {
+			out[pos++] = (byte) ((valor & 0x7f) | 0x80);
+			valor >>>= 7;
+		}
+		out[pos++] = (byte) valor;
+		return pos;
+	}
+}
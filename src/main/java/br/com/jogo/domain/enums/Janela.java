@@ -0,0 +1,19 @@
+package br.com.jogo.domain.enums;
+
+public enum Janela {
+	GERAL,
+	DIARIA,
+	SEMANAL;
+
+	public static Janela toEnum(String nome) throws IllegalArgumentException {
+		if (nome == null) {
+			return GERAL;
+		}
+		for (Janela x : Janela.values()) {
+			if (x.name().equalsIgnoreCase(nome)) {
+				return x;
+			}
+		}
+		throw new IllegalArgumentException("Janela inválida: " + nome);
+	}
+}
@@ -0,0 +1,7 @@
+package br.com.jogo.domain.enums;
+
+public enum Veredito {
+	CORRETA,
+	INCORRETA,
+	VITORIA;
+}
@@ -11,6 +11,11 @@ public class AlternativaDTO extends AlternativaBasicData {
 		this.id = obj.getId();
 	}
 
+	public AlternativaDTO(Integer id, String texto) {
+		super(texto);
+		this.id = id;
+	}
+
 	public Integer getId() {
 		return id;
 	}
@@ -0,0 +1,42 @@
+package br.com.jogo.dto;
+
+import java.io.Serializable;
+
+import br.com.jogo.domain.ResultadoResposta;
+import br.com.jogo.domain.enums.Veredito;
+
+public class AnswerOutcomeDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private Veredito veredito;
+	private int pontuacao;
+	private QuestaoDTO proximaQuestao;
+	private AlternativaDTO alternativaCorreta;
+
+	public AnswerOutcomeDTO(ResultadoResposta obj) {
+		this.veredito = obj.getVeredito();
+		this.pontuacao = obj.getPontuacao();
+		if (obj.getProximaQuestao() != null) {
+			this.proximaQuestao = new QuestaoDTO(obj.getProximaQuestao());
+		}
+		if (obj.getAlternativaCorreta() != null) {
+			this.alternativaCorreta = new AlternativaDTO(obj.getAlternativaCorreta());
+		}
+	}
+
+	public Veredito getVeredito() {
+		return veredito;
+	}
+
+	public int getPontuacao() {
+		return pontuacao;
+	}
+
+	public QuestaoDTO getProximaQuestao() {
+		return proximaQuestao;
+	}
+
+	public AlternativaDTO getAlternativaCorreta() {
+		return alternativaCorreta;
+	}
+}
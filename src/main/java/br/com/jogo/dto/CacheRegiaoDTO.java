@@ -0,0 +1,43 @@
+package br.com.jogo.dto;
+
+import java.io.Serializable;
+
+import org.hibernate.stat.CacheRegionStatistics;
+
+public class CacheRegiaoDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private String regiao;
+	private long acertos;
+	private long falhas;
+	private long insercoes;
+	private long elementos;
+
+	public CacheRegiaoDTO(String regiao, CacheRegionStatistics obj) {
+		this.regiao = regiao;
+		this.acertos = obj.getHitCount();
+		this.falhas = obj.getMissCount();
+		this.insercoes = obj.getPutCount();
+		this.elementos = obj.getElementCountInMemory();
+	}
+
+	public String getRegiao() {
+		return regiao;
+	}
+
+	public long getAcertos() {
+		return acertos;
+	}
+
+	public long getFalhas() {
+		return falhas;
+	}
+
+	public long getInsercoes() {
+		return insercoes;
+	}
+
+	public long getElementos() {
+		return elementos;
+	}
+}
@@ -0,0 +1,53 @@
+package br.com.jogo.dto;
+
+import java.io.Serializable;
+
+public class JogadorPerfilDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private Integer id;
+	private String nome;
+	private String nomeUsuario;
+	private int pontuacaoTotal;
+	private int saldo;
+	private int qtdPartidas;
+	private double topPercentual;
+
+	public JogadorPerfilDTO(JogadorSummary obj, double topPercentual) {
+		this.id = obj.getId();
+		this.nome = obj.getNome();
+		this.nomeUsuario = obj.getNomeUsuario();
+		this.pontuacaoTotal = obj.getPontuacaoTotal();
+		this.saldo = obj.getSaldo();
+		this.qtdPartidas = obj.getQtdPartidas();
+		this.topPercentual = topPercentual;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public String getNomeUsuario() {
+		return nomeUsuario;
+	}
+
+	public int getPontuacaoTotal() {
+		return pontuacaoTotal;
+	}
+
+	public int getSaldo() {
+		return saldo;
+	}
+
+	public int getQtdPartidas() {
+		return qtdPartidas;
+	}
+
+	public double getTopPercentual() {
+		return topPercentual;
+	}
+}
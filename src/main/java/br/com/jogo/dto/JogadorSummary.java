@@ -0,0 +1,77 @@
+package br.com.jogo.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Dados de perfil de um jogador lidos por projeção, sem carregar a entidade
+ * nem as coleções dela.
+ */
+public class JogadorSummary implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private Integer id;
+	private String nome;
+	private String nomeUsuario;
+	private int pontuacaoTotal;
+	private int saldo;
+	private int qtdPartidas;
+	private LocalDate ultimoAcesso;
+	private int qtdAcessosContinuo;
+
+	public JogadorSummary(Integer id, String nome, String nomeUsuario, int pontuacaoTotal, int saldo,
+			int qtdPartidas, LocalDate ultimoAcesso, int qtdAcessosContinuo) {
+		this.id = id;
+		this.nome = nome;
+		this.nomeUsuario = nomeUsuario;
+		this.pontuacaoTotal = pontuacaoTotal;
+		this.saldo = saldo;
+		this.qtdPartidas = qtdPartidas;
+		this.ultimoAcesso = ultimoAcesso;
+		this.qtdAcessosContinuo = qtdAcessosContinuo;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public String getNomeUsuario() {
+		return nomeUsuario;
+	}
+
+	public int getPontuacaoTotal() {
+		return pontuacaoTotal;
+	}
+
+	public void setPontuacaoTotal(int pontuacaoTotal) {
+		this.pontuacaoTotal = pontuacaoTotal;
+	}
+
+	public int getSaldo() {
+		return saldo;
+	}
+
+	public void setSaldo(int saldo) {
+		this.saldo = saldo;
+	}
+
+	public int getQtdPartidas() {
+		return qtdPartidas;
+	}
+
+	public void setQtdPartidas(int qtdPartidas) {
+		this.qtdPartidas = qtdPartidas;
+	}
+
+	public LocalDate getUltimoAcesso() {
+		return ultimoAcesso;
+	}
+
+	public int getQtdAcessosContinuo() {
+		return qtdAcessosContinuo;
+	}
+}
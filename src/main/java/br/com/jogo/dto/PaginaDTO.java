@@ -0,0 +1,24 @@
+package br.com.jogo.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class PaginaDTO<T> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private List<T> itens;
+	private String proximoCursor;
+
+	public PaginaDTO(List<T> itens, String proximoCursor) {
+		this.itens = itens;
+		this.proximoCursor = proximoCursor;
+	}
+
+	public List<T> getItens() {
+		return itens;
+	}
+
+	public String getProximoCursor() {
+		return proximoCursor;
+	}
+}
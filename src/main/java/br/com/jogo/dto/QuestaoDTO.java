@@ -1,6 +1,7 @@
 package br.com.jogo.dto;
 
 import java.io.Serializable;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -19,6 +20,14 @@ public class QuestaoDTO implements Serializable {
 	public QuestaoDTO() {
 	}
 
+	public QuestaoDTO(Integer id, String texto, int nivel, Integer categoriaId) {
+		this.id = id;
+		this.texto = texto;
+		this.nivel = nivel;
+		this.categoriaId = categoriaId;
+		this.alternativas = new HashSet<>();
+	}
+
 	public QuestaoDTO(Questao obj) {
 		this.id = obj.getId();
 		this.texto = obj.getTexto();
@@ -17,6 +17,12 @@ public class RankingDTO implements Serializable {
 		this.pontuacao = pontuacao;
 	}
 
+	public RankingDTO(Integer jogadorId, String nomeUsuario, int pontuacao) {
+		this.jogadorId = jogadorId;
+		this.nomeUsuario = nomeUsuario;
+		this.pontuacao = pontuacao;
+	}
+
 	public Integer getJogadorId() {
 		return jogadorId;
 	}
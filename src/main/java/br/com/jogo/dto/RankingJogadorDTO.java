@@ -0,0 +1,37 @@
+package br.com.jogo.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import br.com.jogo.services.Leaderboard.Entrada;
+import br.com.jogo.services.Leaderboard.Vizinhanca;
+
+public class RankingJogadorDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private int posicao;
+	private List<RankingDTO> acima;
+	private List<RankingDTO> abaixo;
+
+	public RankingJogadorDTO(Vizinhanca obj) {
+		this.posicao = obj.getPosicao();
+		this.acima = obj.getAcima().stream().map(RankingJogadorDTO::toDTO).toList();
+		this.abaixo = obj.getAbaixo().stream().map(RankingJogadorDTO::toDTO).toList();
+	}
+
+	private static RankingDTO toDTO(Entrada obj) {
+		return new RankingDTO(obj.getJogadorId(), obj.getNomeUsuario(), obj.getPontuacao());
+	}
+
+	public int getPosicao() {
+		return posicao;
+	}
+
+	public List<RankingDTO> getAcima() {
+		return acima;
+	}
+
+	public List<RankingDTO> getAbaixo() {
+		return abaixo;
+	}
+}
@@ -0,0 +1,35 @@
+package br.com.jogo.dto;
+
+import java.io.Serializable;
+
+public class RankingPartidaDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private Integer registroPartidaId;
+	private Integer jogadorId;
+	private String nomeUsuario;
+	private int pontuacao;
+
+	public RankingPartidaDTO(Integer registroPartidaId, Integer jogadorId, String nomeUsuario, int pontuacao) {
+		this.registroPartidaId = registroPartidaId;
+		this.jogadorId = jogadorId;
+		this.nomeUsuario = nomeUsuario;
+		this.pontuacao = pontuacao;
+	}
+
+	public Integer getRegistroPartidaId() {
+		return registroPartidaId;
+	}
+
+	public Integer getJogadorId() {
+		return jogadorId;
+	}
+
+	public String getNomeUsuario() {
+		return nomeUsuario;
+	}
+
+	public int getPontuacao() {
+		return pontuacao;
+	}
+}
@@ -20,6 +20,13 @@ public class RegistroPartidaDTO implements Serializable {
 		this.pontuacao = obj.getPontuacao();
 	}
 
+	public RegistroPartidaDTO(Integer id, LocalDateTime momento, boolean ativa, int pontuacao) {
+		this.id = id;
+		this.momento = momento;
+		this.ativa = ativa;
+		this.pontuacao = pontuacao;
+	}
+
 	public Integer getId() {
 		return id;
 	}
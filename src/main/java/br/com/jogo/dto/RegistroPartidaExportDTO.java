@@ -0,0 +1,55 @@
+package br.com.jogo.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+public class RegistroPartidaExportDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private Integer id;
+	private LocalDateTime momento;
+	private boolean ativa;
+	private int pontuacao;
+	private Integer jogadorId;
+	private Integer configuracaoPartidaId;
+	private Integer ultimaQuestaoId;
+
+	public RegistroPartidaExportDTO(Integer id, LocalDateTime momento, boolean ativa, int pontuacao, Integer jogadorId,
+			Integer configuracaoPartidaId, Integer ultimaQuestaoId) {
+		this.id = id;
+		this.momento = momento;
+		this.ativa = ativa;
+		this.pontuacao = pontuacao;
+		this.jogadorId = jogadorId;
+		this.configuracaoPartidaId = configuracaoPartidaId;
+		this.ultimaQuestaoId = ultimaQuestaoId;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public LocalDateTime getMomento() {
+		return momento;
+	}
+
+	public boolean isAtiva() {
+		return ativa;
+	}
+
+	public int getPontuacao() {
+		return pontuacao;
+	}
+
+	public Integer getJogadorId() {
+		return jogadorId;
+	}
+
+	public Integer getConfiguracaoPartidaId() {
+		return configuracaoPartidaId;
+	}
+
+	public Integer getUltimaQuestaoId() {
+		return ultimaQuestaoId;
+	}
+}
@@ -0,0 +1,23 @@
+package br.com.jogo.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+public class RespostaLoteDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	@NotEmpty(message = "Preenchimento obrigatório")
+	@Size(max = 50, message = "No máximo 50 respostas por envio")
+	private List<@NotNull(message = "ID inválido") Integer> alternativasIds;
+
+	public RespostaLoteDTO() {
+	}
+
+	public List<Integer> getAlternativasIds() {
+		return alternativasIds;
+	}
+}
@@ -2,8 +2,10 @@ package br.com.jogo.facade;
 
 import java.awt.image.BufferedImage;
 import java.net.URI;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +14,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+import br.com.jogo.config.OrcamentoSql;
 import br.com.jogo.domain.Admin;
 import br.com.jogo.domain.Alternativa;
 import br.com.jogo.domain.Categoria;
@@ -20,8 +23,18 @@ import br.com.jogo.domain.Item;
 import br.com.jogo.domain.Jogador;
 import br.com.jogo.domain.Questao;
 import br.com.jogo.domain.RegistroPartida;
+import br.com.jogo.domain.ResultadoResposta;
 import br.com.jogo.domain.Usuario;
+import br.com.jogo.domain.enums.Janela;
 import br.com.jogo.domain.enums.Role;
+import br.com.jogo.dto.CacheRegiaoDTO;
+import br.com.jogo.dto.JogadorPerfilDTO;
+import br.com.jogo.dto.JogadorSummary;
+import br.com.jogo.dto.QuestaoDTO;
+import br.com.jogo.dto.RankingDTO;
+import br.com.jogo.dto.RankingPartidaDTO;
+import br.com.jogo.dto.RegistroPartidaDTO;
+import br.com.jogo.dto.RegistroPartidaExportDTO;
 import br.com.jogo.security.UserSS;
 import br.com.jogo.security.exceptions.AuthorizationException;
 import br.com.jogo.security.exceptions.InvalidRoleUser;
@@ -29,19 +42,22 @@ import br.com.jogo.security.exceptions.InvalidTokenException;
 import br.com.jogo.services.AdminService;
 import br.com.jogo.services.AlternativaService;
 import br.com.jogo.services.AuthService;
+import br.com.jogo.services.CacheService;
 import br.com.jogo.services.CategoriaService;
 import br.com.jogo.services.ConfiguracaoPartidaService;
 import br.com.jogo.services.EmailService;
 import br.com.jogo.services.ImageService;
 import br.com.jogo.services.ItemService;
 import br.com.jogo.services.JogadorService;
+import br.com.jogo.services.MelhorPontuacaoService;
+import br.com.jogo.services.Leaderboard.Entrada;
+import br.com.jogo.services.Leaderboard.Vizinhanca;
 import br.com.jogo.services.QuestaoService;
 import br.com.jogo.services.RegistroPartidaService;
+import br.com.jogo.services.RespostaService;
 import br.com.jogo.services.UserService;
 import br.com.jogo.services.UsuarioService;
 import br.com.jogo.services.exceptions.ActivationException;
-import br.com.jogo.services.exceptions.IncorrectAlternativeException;
-import br.com.jogo.services.exceptions.InvalidNextQuestionException;
 import br.com.jogo.services.exceptions.ObjectNotFoundException;
 
 @Component
@@ -53,6 +69,12 @@ public class Jogo {
 	@Autowired
 	private AlternativaService alternativaService;
 	@Autowired
+	private CacheService cacheService;
+	@Autowired
+	private RespostaService respostaService;
+	@Autowired
+	private MelhorPontuacaoService melhorPontuacaoService;
+	@Autowired
 	private CategoriaService categoriaService;
 	@Autowired
 	private ConfiguracaoPartidaService configuracaoPartidaService;
@@ -72,10 +94,15 @@ public class Jogo {
 	private EmailService emailService;
 	@Autowired
 	private AuthService authService;
+	@Autowired
+	private OrcamentoSql orcamentoSql;
 
 	@Value("${domain.url}")
 	private String domainURL;
 
+	@Value("${jogo.ranking.limite-maximo:1000}")
+	private int limiteRanking;
+
 	// --------------------------------Admin----------------------------------------------
 
 	public Admin findAdmin(Integer id) throws AuthorizationException {
@@ -107,14 +134,12 @@ public class Jogo {
 		return (Admin) user;
 	}
 
-	public List<Admin> findAllAdmins() {
-		return adminService.findAll();
+	public List<Admin> findAllAdmins(Integer id, int quantidade) {
+		return adminService.findAll(id, quantidade);
 	}
 
-	// --------------------------------Alternativa----------------------------------------------
-
-	private Alternativa findAlternativa(Integer id) {
-		return alternativaService.find(id);
+	public List<CacheRegiaoDTO> cacheStatistics() {
+		return cacheService.statistics();
 	}
 
 	// --------------------------------Categoria----------------------------------------------
@@ -127,16 +152,19 @@ public class Jogo {
 		return categoriaService.find(id);
 	}
 
-	public List<Categoria> findAllCategorias() {
-		return categoriaService.findAll();
+	public List<Categoria> findAllCategorias(Integer id, int quantidade) {
+		return categoriaService.findAll(id, quantidade);
 	}
 
 	public void deleteCategoria(Integer id) {
 		categoriaService.delete(id);
+		cacheService.evictCategoria(id);
 	}
 
 	public Categoria updateCategoria(Categoria obj) {
-		return categoriaService.update(obj);
+		obj = categoriaService.update(obj);
+		cacheService.evictCategoria(obj.getId());
+		return obj;
 	}
 
 	// --------------------------------ConfiguracaoPartida----------------------------------------------
@@ -150,7 +178,7 @@ public class Jogo {
 				throw new InvalidRoleUser("Apenas jogadores podem iniciar uma partida!");
 			}
 		}
-		Jogador jog = findJogador(userss.getId());
+		Jogador jog = jogadorService.find(userss.getId());
 		obj.setJogador(jog);
 		if (obj.getQuestoes() != null && !obj.getQuestoes().isEmpty()) {
 			obj = new ConfiguracaoPartida(jog,
@@ -161,11 +189,10 @@ public class Jogo {
 				obj.setCategorias(obj.getCategorias().stream().map(x -> categoriaService.find(x.getId()))
 						.collect(Collectors.toSet()));
 			}
-			Questao nextQ = nextQuestionConfiguracaoPartida(obj);
-			if (nextQ == null) {
-				throw new ObjectNotFoundException("Não há questões para essa configuração de partida!");
-			}
-			obj.setQuestoes(Set.of(nextQ));
+			dealBaralho(obj);
+		}
+		if (obj.getBaralho() == null) {
+			obj.setBaralho(questaoService.generateBaralho(obj.getQuestoes()));
 		}
 		return configuracaoPartidaService.insert(obj);
 	}
@@ -174,8 +201,8 @@ public class Jogo {
 		return configuracaoPartidaService.find(id);
 	}
 
-	public List<ConfiguracaoPartida> findAllConfiguracaoPartidas() {
-		return configuracaoPartidaService.findAll();
+	public List<ConfiguracaoPartida> findAllConfiguracaoPartidas(Integer id, int quantidade) {
+		return configuracaoPartidaService.findAll(id, quantidade);
 	}
 	
 	public List<ConfiguracaoPartida> findConfiguracaoPartidasPreseteds() {
@@ -193,11 +220,14 @@ public class Jogo {
 	}
 
 	public Item updateItem(Item obj) {
-		return itemService.update(obj);
+		obj = itemService.update(obj);
+		cacheService.evictItem(obj.getId());
+		return obj;
 	}
 
 	public void deleteItem(Integer id) {
 		itemService.delete(id);
+		cacheService.evictItem(id);
 	}
 
 	public List<Item> findAllItens() {
@@ -207,7 +237,7 @@ public class Jogo {
 	// --------------------------------Jogador----------------------------------------------
 
 	public Jogador findJogador(Integer id) {
-		return jogadorService.find(id);
+		return jogadorService.findView(id);
 	}
 
 	public Jogador insertJogador(Jogador obj) {
@@ -224,12 +254,26 @@ public class Jogo {
 		jogadorService.delete(id);
 	}
 
-	public List<Jogador> findAllJogadores() {
-		return jogadorService.findAll();
+	public List<Jogador> findAllJogadores(Integer id, int quantidade) {
+		return jogadorService.findAll(id, quantidade);
+	}
+
+	public List<Entrada> rankJogadores(int limite, Janela janela) {
+		return jogadorService.rank(Math.min(Math.max(limite, 1), limiteRanking), janela);
 	}
 
-	public List<Jogador> rankJogadores() {
-		return jogadorService.rank();
+	public JogadorPerfilDTO findPerfilJogador(Integer id) {
+		JogadorSummary obj = jogadorService.findSummary(id);
+		return new JogadorPerfilDTO(obj, jogadorService.topPercentual(obj));
+	}
+
+	public List<RegistroPartidaDTO> findRegistroPartidasByJogador(Integer id, Integer antesDe, int quantidade) {
+		jogadorService.findSummary(id);
+		return registroPartidaService.findByJogador(id, antesDe, quantidade);
+	}
+
+	public Vizinhanca rankJogador(Integer id) {
+		return jogadorService.rankOf(id, 5);
 	}
 
 	public Jogador findJogadorByEmail(String email) {
@@ -272,21 +316,27 @@ public class Jogo {
 		return questaoService.find(id);
 	}
 
-	public List<Questao> findAllQuestoes() {
-		return questaoService.findAll();
+	public List<QuestaoDTO> findAllQuestoes(Integer id, int quantidade) {
+		return questaoService.findAllDTO(id, quantidade);
 	}
 
 	public void deleteQuestao(Integer id) {
+		List<Integer> alternativasIds = findQuestao(id).getAlternativas().stream().map(Alternativa::getId).toList();
 		questaoService.delete(id);
+		cacheService.evictQuestao(id, alternativasIds);
 	}
 
 	public Questao updateQuestao(Questao obj) {
 		obj.setCategoria(categoriaService.find(obj.getCategoria().getId()));
+		Set<Alternativa> antigas = findQuestao(obj.getId()).getAlternativas();
+		List<Integer> antigasIds = antigas.stream().map(Alternativa::getId).toList();
 		List<Alternativa> alts = obj.getAlternativas().stream().toList();
 		if (alts != null) {
-			obj.setAlternativas(alternativaService.updateAllByList(findQuestao(obj.getId()).getAlternativas(), alts));
+			obj.setAlternativas(alternativaService.updateAllByList(antigas, alts));
 		}
-		return questaoService.update(obj);
+		obj = questaoService.update(obj);
+		cacheService.evictQuestao(obj.getId(), antigasIds);
+		return obj;
 	}
 
 	// -------------------------------------RegistroPartida-----------------------------------------
@@ -300,20 +350,24 @@ public class Jogo {
 				throw new InvalidRoleUser("Apenas jogadores podem iniciar uma partida!");
 			}
 		}
-		Questao ultima = null;
 		Jogador jog = jogadorService.find(userss.getId());
+		ConfiguracaoPartida cp;
 		if (obj.getConfiguracaoPartida() != null) {
-			ConfiguracaoPartida cp = findConfiguracaoPartida(obj.getConfiguracaoPartida().getId());
-			ultima = cp.getQuestoes().stream().findAny().get();
-			obj = new RegistroPartida(cp, jog);
-
+			cp = findConfiguracaoPartida(obj.getConfiguracaoPartida().getId());
+			if (cp.getBaralho() == null) {
+				cp.setBaralho(questaoService.generateBaralho(cp.getQuestoes()));
+				cp = configuracaoPartidaService.update(cp);
+			}
 		} else {
-			ConfiguracaoPartida cp = new ConfiguracaoPartida(jog);
-			ultima = nextQuestionConfiguracaoPartida(cp);
-			cp.setQuestoes(Set.of(ultima));
-			obj = new RegistroPartida(cp, jog);
+			cp = new ConfiguracaoPartida(jog);
+			dealBaralho(cp);
+		}
+		obj = new RegistroPartida(cp, jog);
+		obj.setPosicaoBaralho(-1);
+		obj.setUltimaQuestao(respostaService.nextQuestion(obj));
+		if (obj.getUltimaQuestao() == null) {
+			throw new ObjectNotFoundException("Não há questões para essa configuração de partida!");
 		}
-		obj.setUltimaQuestao(ultima);
 		return registroPartidaService.insert(obj);
 	}
 
@@ -333,22 +387,26 @@ public class Jogo {
 		registroPartidaService.delete(id);
 	}
 
-	public List<RegistroPartida> findAllRegistroPartidas() {
-		return registroPartidaService.findAll();
+	public List<RegistroPartidaDTO> findAllRegistroPartidas(Integer id, int quantidade) {
+		return registroPartidaService.findAll(id, quantidade);
+	}
+
+	public void exportRegistroPartidas(Consumer<RegistroPartidaExportDTO> consumer) {
+		registroPartidaService.export(consumer);
 	}
 
 	public List<RegistroPartida> findActiveByJogador(Jogador obj) {
-		obj = findJogador(obj.getId());
+		obj = jogadorService.find(obj.getId());
 		return registroPartidaService.findActiveByJogador(obj);
 	}
 
-	public List<RegistroPartida> rankRegistroPartidaByConfiguracaoPartida(ConfiguracaoPartida obj) {
+	public List<RankingDTO> rankRegistroPartidaByConfiguracaoPartida(ConfiguracaoPartida obj, int quantidade) {
 		obj = configuracaoPartidaService.find(obj.getId());
-		return registroPartidaService.rankByConfiguracaoPartida(obj);
+		return melhorPontuacaoService.rank(obj.getId(), quantidade);
 	}
 
-	public List<RegistroPartida> rankRegistroPartida() {
-		return registroPartidaService.rank();
+	public List<RankingPartidaDTO> rankRegistroPartida(Integer pontuacao, Integer id, int quantidade) {
+		return registroPartidaService.rank(pontuacao, id, quantidade);
 	}
 
 	// -----------------------------Usuario-----------------------------
@@ -384,7 +442,7 @@ public class Jogo {
 			throw new AuthorizationException("Acesso negado");
 		}
 		if (userss.hasRole(Role.JOGADOR)) {
-			usuario = findJogador(userss.getId());
+			usuario = jogadorService.find(userss.getId());
 		} else {
 			usuario = findAdmin(userss.getId());
 		}
@@ -402,8 +460,21 @@ public class Jogo {
 
 	// -----------------------------Regras Jogo-----------------------------
 
-	public void answerQuestion(RegistroPartida registroPartida, Alternativa alternativa) throws AuthorizationException,
-			ObjectNotFoundException, ActivationException, IncorrectAlternativeException, InvalidNextQuestionException {
+	public ResultadoResposta answerQuestion(RegistroPartida registroPartida, Alternativa alternativa)
+			throws AuthorizationException, ObjectNotFoundException, ActivationException {
+		UserSS userss = authenticatedJogador();
+		return orcamentoSql.run(registroPartida.getId(), 1,
+				() -> respostaService.answer(registroPartida.getId(), userss.getId(), alternativa.getId()));
+	}
+
+	public List<ResultadoResposta> answerQuestions(Integer registroPartidaId, List<Integer> alternativasIds)
+			throws AuthorizationException, ObjectNotFoundException, ActivationException {
+		UserSS userss = authenticatedJogador();
+		return orcamentoSql.run(registroPartidaId, alternativasIds.size(),
+				() -> respostaService.answerAll(registroPartidaId, userss.getId(), alternativasIds));
+	}
+
+	private UserSS authenticatedJogador() throws AuthorizationException, InvalidRoleUser {
 		UserSS userss = UserService.authenticated();
 		if (userss == null) {
 			throw new AuthorizationException("Acesso negado!");
@@ -412,91 +483,16 @@ public class Jogo {
 				throw new InvalidRoleUser("Apenas jogadores podem iniciar uma partida!");
 			}
 		}
-		RegistroPartida rp = findRegistroPartida(registroPartida.getId());
-		if (rp.getJogador().getId() != userss.getId()) {
-			throw new AuthorizationException("Apenas o jogador da partida pode responder!");
-		}
-		if (!rp.isAtiva()) {
-			throw new ActivationException("A partida está inativa!");
-		}
-		Alternativa a = findAlternativa(alternativa.getId());
-		Questao q = questaoService.findByAlternativa(a);
-		if (!rp.getUltimaQuestao().equals(q)) {
-			throw new ObjectNotFoundException("A alternativa não pertece a uma questao da partida!");
-		}
-		if (a.isCorreta()) {
-			rp = correctAnswer(rp, q);
-		} else {
-			rp.getJogador().addQtdPartidas();
-			rp.setAtiva(false);
-			if (!rp.getConfiguracaoPartida().isPredefinida())
-				rp.getConfiguracaoPartida().toPreseted();
-		}
-		rp = registroPartidaService.update(rp);
-		configuracaoPartidaService.update(rp.getConfiguracaoPartida());
-		if (!a.isCorreta()) {
-			throw new IncorrectAlternativeException(q.getCorrectAlternative());
-		} else {
-			if (rp.getUltimaQuestao() == null) {
-				throw new InvalidNextQuestionException("Não há questoes disponiveis para o jogo!");
-			}
-		}
-	}
-
-	private RegistroPartida correctAnswer(RegistroPartida rp, Questao q) {
-		rp.addPontuacao(q.getNivel());
-		rp.getJogador().addPontuacao(q.getNivel());
-		rp.getJogador().addSaldo(q.getNivel());
-		rp.addQuestoes(q);
-		Questao nextQ = nextQuestionRegistroPartida(rp);
-		if (nextQ == null) {
-			rp.getJogador().addQtdPartidas();
-			if (!rp.getConfiguracaoPartida().isPredefinida())
-				rp.getConfiguracaoPartida().toPreseted();
-			rp.setAtiva(false);
-		} else {
-			if (!rp.getConfiguracaoPartida().isPredefinida()) {
-				rp.getConfiguracaoPartida().addQuestao(nextQ);
-			}
-		}
-		rp.setUltimaQuestao(nextQ);
-		return rp;
+		return userss;
 	}
 
-	private Questao nextQuestionRegistroPartida(RegistroPartida obj) throws InvalidNextQuestionException {
-		ConfiguracaoPartida cp = obj.getConfiguracaoPartida();
-		Questao nextQ = null;
-		if (!cp.isPredefinida()) {
-			nextQ = nextQuestionConfiguracaoPartida(cp);
-		} else {
-			Set<Questao> sq = cp.getQuestoes();
-			sq.removeAll(obj.getQuestoesRepondias());
-			if (!sq.isEmpty()) {
-				nextQ = sq.stream().findAny().get();
-			} else {
-				throw new InvalidNextQuestionException("Não ha questoes disponiveis para o jogo!"); // endgame?
-			}
-		}
-		return nextQ;
-	}
-
-	private Questao nextQuestionConfiguracaoPartida(ConfiguracaoPartida obj) {
-		Questao nextQ = null;
-		try {
-			if (obj.getNivel() != 0 && obj.getCategorias() != null) {
-				nextQ = questaoService.findOneByNivelAndCategoria(obj.getNivel(), obj.getCategorias(),
-						obj.getQuestoes());
-			} else if (obj.getNivel() != 0) {
-				nextQ = questaoService.findOneByNivel(obj.getNivel(), obj.getQuestoes());
-			} else if (obj.getCategorias() != null) {
-				nextQ = questaoService.findOneByCategoria(obj.getCategorias(), obj.getQuestoes());
-			} else {
-				nextQ = questaoService.findOneNotIn(obj.getQuestoes());
-			}
-		} catch (ObjectNotFoundException e) {
-			return nextQ;
+	private void dealBaralho(ConfiguracaoPartida obj) {
+		int[] baralho = questaoService.generateBaralho(obj.getNivel(), obj.getCategorias());
+		if (baralho.length == 0) {
+			throw new ObjectNotFoundException("Não há questões para essa configuração de partida!");
 		}
-		return nextQ;
+		obj.setBaralho(baralho);
+		obj.setQuestoes(new HashSet<>(Set.of(questaoService.getReference(baralho[0]))));
 	}
 
 	public List<RegistroPartida> findPartidaAtivaByJogador(Jogador obj) {
@@ -1,5 +1,8 @@
 package br.com.jogo.repositories;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -7,4 +10,5 @@ import br.com.jogo.domain.Admin;
 
 @Repository
 public interface AdminRepository extends JpaRepository<Admin, Integer> {
+	public List<Admin> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
 }
@@ -1,5 +1,8 @@
 package br.com.jogo.repositories;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +12,6 @@ import br.com.jogo.domain.Categoria;
 public interface CategoriaRepository extends JpaRepository<Categoria, Integer> {
 
 	Categoria findByNome(String nome);
+
+	public List<Categoria> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
 }
@@ -2,6 +2,7 @@ package br.com.jogo.repositories;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +11,6 @@ import br.com.jogo.domain.ConfiguracaoPartida;
 @Repository
 public interface ConfiguracaoPartidaRepository extends JpaRepository<ConfiguracaoPartida, Integer> {
 	public List<ConfiguracaoPartida> findByPredefinidaTrue();
+
+	public List<ConfiguracaoPartida> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
 }
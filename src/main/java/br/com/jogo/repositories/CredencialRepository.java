@@ -0,0 +1,19 @@
+package br.com.jogo.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import br.com.jogo.domain.Credencial;
+
+@Repository
+public interface CredencialRepository extends JpaRepository<Credencial, Integer> {
+
+	public Optional<Credencial> findByEmail(String email);
+
+	@Query("select u.id, u.email, u.role, u.senha from Usuario u")
+	public List<Object[]> findBackfillData();
+}
@@ -1,14 +1,25 @@
 package br.com.jogo.repositories;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.com.jogo.domain.Jogador;
+import br.com.jogo.dto.JogadorSummary;
 
 @Repository
 public interface JogadorRepository extends JpaRepository<Jogador, Integer> {
-	public List<Jogador> findAllByOrderByPontuacaoTotalDesc();
-	
+	@Query("select j.id, j.nomeUsuario, j.pontuacaoTotal from Jogador j")
+	public List<Object[]> findAllRankingData();
+
+	@Query("select new br.com.jogo.dto.JogadorSummary(j.id, j.nome, j.nomeUsuario, j.pontuacaoTotal, j.saldo, "
+			+ "j.qtdPartidas, j.ultimoAcesso, j.qtdAcessosContinuo) from Jogador j where j.id = :id")
+	public Optional<JogadorSummary> findSummaryById(@Param("id") Integer id);
+
+	public List<Jogador> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
 }
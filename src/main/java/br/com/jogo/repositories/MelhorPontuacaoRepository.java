@@ -0,0 +1,44 @@
+package br.com.jogo.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.jogo.domain.MelhorPontuacao;
+import br.com.jogo.domain.MelhorPontuacaoPK;
+import br.com.jogo.dto.RankingDTO;
+
+@Repository
+public interface MelhorPontuacaoRepository extends JpaRepository<MelhorPontuacao, MelhorPontuacaoPK> {
+
+	@Query("select new br.com.jogo.dto.RankingDTO(m.id.jogadorId, m.nomeUsuario, m.pontuacao) from MelhorPontuacao m "
+			+ "where m.id.configuracaoPartidaId = :id order by m.pontuacao desc, m.id.jogadorId")
+	public List<RankingDTO> findRanking(@Param("id") Integer configuracaoPartidaId, Pageable pageable);
+
+	// conta a linha mesmo quando a pontuação não muda, então 0 quer dizer que ela ainda não existe
+	@Modifying
+	@Query("update MelhorPontuacao m set m.pontuacao = case when m.pontuacao < :pontuacao then :pontuacao "
+			+ "else m.pontuacao end where m.id = :id")
+	public int updatePontuacao(@Param("id") MelhorPontuacaoPK id, @Param("pontuacao") int pontuacao);
+
+	@Query("select rp.configuracaoPartida.id, j.id, j.nomeUsuario, max(rp.pontuacao) from RegistroPartida rp "
+			+ "join rp.jogador j where rp.ativa = false group by rp.configuracaoPartida.id, j.id, j.nomeUsuario")
+	public List<Object[]> findBackfillData();
+
+	@Modifying
+	@Query("update MelhorPontuacao m set m.nomeUsuario = :nomeUsuario where m.id.jogadorId = :id")
+	public int updateNomeUsuario(@Param("id") Integer jogadorId, @Param("nomeUsuario") String nomeUsuario);
+
+	@Modifying
+	@Query("delete from MelhorPontuacao m where m.id.jogadorId = :id")
+	public int deleteByJogador(@Param("id") Integer jogadorId);
+
+	@Modifying
+	@Query("delete from MelhorPontuacao m where m.id.configuracaoPartidaId = :id")
+	public int deleteByConfiguracaoPartida(@Param("id") Integer configuracaoPartidaId);
+}
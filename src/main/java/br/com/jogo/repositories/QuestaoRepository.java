@@ -1,25 +1,33 @@
 package br.com.jogo.repositories;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.com.jogo.domain.Alternativa;
-import br.com.jogo.domain.Categoria;
 import br.com.jogo.domain.Questao;
+import br.com.jogo.dto.QuestaoDTO;
 
 @Repository
 public interface QuestaoRepository extends JpaRepository<Questao, Integer> {
 	public Optional<Questao> findByAlternativas(Alternativa alternativa);
 
-	public Optional<Questao> findDistinctFirstByIdNotIn(Set<Integer> questoes);
+	@Query("select q.id, q.nivel, c.id from Questao q left join q.categoria c")
+	public List<Object[]> findAllIndexData();
 
-	public Optional<Questao> findDistinctFirstByCategoriaNotInAndIdNotIn(Set<Categoria> categorias, Set<Integer> questoes);
+	@Query("select a.id, q.id, a.correta from Questao q join q.alternativas a")
+	public List<Object[]> findAllAlternativaIndexData();
 
-	public Optional<Questao> findDistinctFirstByNivelAndIdNotIn(int nivel, Set<Integer> questoes);
+	@Query("select new br.com.jogo.dto.QuestaoDTO(q.id, q.texto, q.nivel, c.id) from Questao q left join q.categoria c "
+			+ "where q.id > :id order by q.id")
+	public List<QuestaoDTO> findAllDTOAfter(@Param("id") Integer id, Pageable pageable);
 
-	public Optional<Questao> findDistinctFirstByNivelAndCategoriaNotInAndIdNotIn(int nivel, Set<Categoria> categorias,
-			Set<Integer> questoes);
+	@Query("select q.id, a.id, a.texto from Questao q join q.alternativas a where q.id in :ids")
+	public List<Object[]> findAlternativasDTO(@Param("ids") Collection<Integer> ids);
 }
@@ -1,17 +1,69 @@
 package br.com.jogo.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import br.com.jogo.domain.ConfiguracaoPartida;
 import br.com.jogo.domain.Jogador;
 import br.com.jogo.domain.RegistroPartida;
+import br.com.jogo.dto.RankingPartidaDTO;
+import br.com.jogo.dto.RegistroPartidaExportDTO;
+import br.com.jogo.dto.RegistroPartidaDTO;
 
 @Repository
 public interface RegistroPartidaRepository extends JpaRepository<RegistroPartida, Integer> {
 	public List<RegistroPartida> findByAtivaTrueAndJogador(Jogador jogador);
-	public List<RegistroPartida> findByConfiguracaoPartidaOrderByPontuacaoDesc(ConfiguracaoPartida configuracaoPatida);
-	public List<RegistroPartida> findAllByOrderByPontuacaoDesc();
+
+	@Query("select new br.com.jogo.dto.RankingPartidaDTO(rp.id, j.id, j.nomeUsuario, rp.pontuacao) "
+			+ "from RegistroPartida rp join rp.jogador j order by rp.pontuacao desc, rp.id desc")
+	public List<RankingPartidaDTO> findRanking(Pageable pageable);
+
+	@Query("select new br.com.jogo.dto.RankingPartidaDTO(rp.id, j.id, j.nomeUsuario, rp.pontuacao) "
+			+ "from RegistroPartida rp join rp.jogador j "
+			+ "where rp.pontuacao < :pontuacao or (rp.pontuacao = :pontuacao and rp.id < :id) "
+			+ "order by rp.pontuacao desc, rp.id desc")
+	public List<RankingPartidaDTO> findRankingAfter(@Param("pontuacao") int pontuacao, @Param("id") Integer id,
+			Pageable pageable);
+
+	@Query("select j.id, j.nomeUsuario, rp.momento, rp.pontuacao from RegistroPartida rp join rp.jogador j "
+			+ "where rp.momento >= :desde and rp.pontuacao > 0")
+	public List<Object[]> findPontuacaoDesde(@Param("desde") LocalDateTime desde);
+
+	@Query("select rp from RegistroPartida rp join fetch rp.jogador join fetch rp.configuracaoPartida "
+			+ "left join fetch rp.ultimaQuestao q left join fetch q.alternativas where rp.id = :id")
+	public Optional<RegistroPartida> findForResposta(@Param("id") Integer id);
+
+	@Query("select new br.com.jogo.dto.RegistroPartidaDTO(rp.id, rp.momento, rp.ativa, rp.pontuacao) "
+			+ "from RegistroPartida rp where rp.id > :id order by rp.id")
+	public List<RegistroPartidaDTO> findAllAfter(@Param("id") Integer id, Pageable pageable);
+
+	// lotes de 500 linhas por ida ao banco; no MySQL o CursorFetch liga o useCursorFetch que isso exige
+	@QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HINT_READONLY, value = "true") })
+	@Query("select new br.com.jogo.dto.RegistroPartidaExportDTO(rp.id, rp.momento, rp.ativa, rp.pontuacao, j.id, cp.id, "
+			+ "q.id) from RegistroPartida rp left join rp.jogador j left join rp.configuracaoPartida cp "
+			+ "left join rp.ultimaQuestao q order by rp.id")
+	public Stream<RegistroPartidaExportDTO> streamAll();
+
+	@Query("select new br.com.jogo.dto.RegistroPartidaDTO(rp.id, rp.momento, rp.ativa, rp.pontuacao) "
+			+ "from RegistroPartida rp where rp.jogador.id = :jogadorId order by rp.id desc")
+	public List<RegistroPartidaDTO> findByJogador(@Param("jogadorId") Integer jogadorId, Pageable pageable);
+
+	@Query("select new br.com.jogo.dto.RegistroPartidaDTO(rp.id, rp.momento, rp.ativa, rp.pontuacao) "
+			+ "from RegistroPartida rp where rp.jogador.id = :jogadorId and rp.id < :id order by rp.id desc")
+	public List<RegistroPartidaDTO> findByJogadorAfter(@Param("jogadorId") Integer jogadorId,
+			@Param("id") Integer id, Pageable pageable);
 }
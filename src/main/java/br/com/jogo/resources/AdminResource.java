@@ -18,9 +18,12 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import br.com.jogo.domain.Admin;
+import br.com.jogo.dto.CacheRegiaoDTO;
+import br.com.jogo.dto.PaginaDTO;
 import br.com.jogo.dto.UsuarioDTO;
 import br.com.jogo.dto.UsuarioNewDTO;
 import br.com.jogo.facade.Jogo;
+import br.com.jogo.resources.utils.Cursor;
 import br.com.jogo.security.exceptions.AuthorizationException;
 
 @RestController
@@ -70,9 +73,18 @@ public class AdminResource {
 
 	@PreAuthorize("hasAnyRole('ADMIN')")
 	@RequestMapping(method = RequestMethod.GET)
-	public ResponseEntity<List<UsuarioDTO>> findAll() {
-		List<Admin> list = jogo.findAllAdmins();
+	public ResponseEntity<PaginaDTO<UsuarioDTO>> findAll(@RequestParam(value = "limite", required = false) Integer limite,
+			@RequestParam(value = "cursor", required = false) String cursor) {
+		int quantidade = Cursor.limite(limite);
+		List<Admin> list = jogo.findAllAdmins(Cursor.id(cursor), quantidade + 1);
 		List<UsuarioDTO> listDto = list.stream().map(obj -> new UsuarioDTO(obj)).collect(Collectors.toList());
-		return ResponseEntity.ok().body(listDto);
+		return ResponseEntity.ok().body(Cursor.pagina(listDto, quantidade, x -> Cursor.encode(x.getId())));
+	}
+
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	@RequestMapping(value = "/cache", method = RequestMethod.GET)
+	public ResponseEntity<List<CacheRegiaoDTO>> cacheStatistics() {
+		List<CacheRegiaoDTO> list = jogo.cacheStatistics();
+		return ResponseEntity.ok().body(list);
 	}
 }
@@ -35,7 +35,7 @@ public class AuthResource {
 		UserSS user = UserService.authenticated();
 		if (user != null) {
 			System.out.println(user.getUsername());
-			String token = jwtUtil.generateAuthToken(user.getUsername());
+			String token = jwtUtil.generateAuthToken(user);
 			response.addHeader("Authorization", "Bearer " + token);
 			response.addHeader("access-control-expose-headers", "Authorization");
 		}
@@ -13,13 +13,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import br.com.jogo.domain.Categoria;
 import br.com.jogo.dto.CategoriaDTO;
 import br.com.jogo.dto.CategoriaNewDTO;
+import br.com.jogo.dto.PaginaDTO;
 import br.com.jogo.facade.Jogo;
+import br.com.jogo.resources.utils.Cursor;
 
 @RestController
 @RequestMapping(path = "/categorias")
@@ -58,9 +61,11 @@ public class CategoriaResource {
 	}
 
 	@RequestMapping(method = RequestMethod.GET)
-	public ResponseEntity<List<CategoriaDTO>> findAll() {
-		List<Categoria> list = jogo.findAllCategorias();
+	public ResponseEntity<PaginaDTO<CategoriaDTO>> findAll(@RequestParam(value = "limite", required = false) Integer limite,
+			@RequestParam(value = "cursor", required = false) String cursor) {
+		int quantidade = Cursor.limite(limite);
+		List<Categoria> list = jogo.findAllCategorias(Cursor.id(cursor), quantidade + 1);
 		List<CategoriaDTO> listDto = list.stream().map(obj -> new CategoriaDTO(obj)).collect(Collectors.toList());
-		return ResponseEntity.ok().body(listDto);
+		return ResponseEntity.ok().body(Cursor.pagina(listDto, quantidade, x -> Cursor.encode(x.getId())));
 	}
 }
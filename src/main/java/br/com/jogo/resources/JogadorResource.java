@@ -11,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -19,10 +20,16 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import br.com.jogo.domain.Jogador;
-import br.com.jogo.dto.RankingDTO;
+import br.com.jogo.domain.enums.Janela;
+import br.com.jogo.dto.JogadorPerfilDTO;
+import br.com.jogo.dto.PaginaDTO;
+import br.com.jogo.dto.RankingJogadorDTO;
+import br.com.jogo.dto.RegistroPartidaDTO;
 import br.com.jogo.dto.UsuarioDTO;
 import br.com.jogo.dto.UsuarioNewDTO;
 import br.com.jogo.facade.Jogo;
+import br.com.jogo.resources.utils.Cursor;
+import br.com.jogo.resources.utils.RankingSnapshots;
 import br.com.jogo.security.exceptions.AuthorizationException;
 
 @RestController
@@ -30,6 +37,8 @@ import br.com.jogo.security.exceptions.AuthorizationException;
 public class JogadorResource {
 	@Autowired
 	Jogo jogo;
+	@Autowired
+	RankingSnapshots snapshots;
 
 	@RequestMapping(value = "/{id}", method = RequestMethod.GET)
 	public ResponseEntity<Jogador> find(@PathVariable Integer id) {
@@ -68,18 +77,46 @@ public class JogadorResource {
 
 	@PreAuthorize("hasAnyRole('ADMIN')")
 	@RequestMapping(method = RequestMethod.GET)
-	public ResponseEntity<List<UsuarioDTO>> findAll() {
-		List<Jogador> list = jogo.findAllJogadores();
+	public ResponseEntity<PaginaDTO<UsuarioDTO>> findAll(@RequestParam(value = "limite", required = false) Integer limite,
+			@RequestParam(value = "cursor", required = false) String cursor) {
+		int quantidade = Cursor.limite(limite);
+		List<Jogador> list = jogo.findAllJogadores(Cursor.id(cursor), quantidade + 1);
 		List<UsuarioDTO> listDto = list.stream().map(obj -> new UsuarioDTO(obj)).collect(Collectors.toList());
-		return ResponseEntity.ok().body(listDto);
+		return ResponseEntity.ok().body(Cursor.pagina(listDto, quantidade, x -> Cursor.encode(x.getId())));
 	}
 
 	@RequestMapping(value = "/ranking", method = RequestMethod.GET)
-	public ResponseEntity<List<RankingDTO>> rank() {
-		List<Jogador> list = jogo.rankJogadores();
-		List<RankingDTO> listDto = list.stream().map(obj -> new RankingDTO(obj, obj.getPontuacaoTotal()))
-				.collect(Collectors.toList());
-		return ResponseEntity.ok().body(listDto);
+	public ResponseEntity<byte[]> rank(@RequestParam(value = "limite", required = false) Integer limite,
+			@RequestParam(value = "janela", required = false) String janela,
+			@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+		Janela obj = Janela.toEnum(janela);
+		int quantidade = Cursor.limite(limite, RankingSnapshots.TOPO, RankingSnapshots.LIMITE_MAXIMO);
+		if (quantidade == RankingSnapshots.TOPO) {
+			return RankingSnapshots.response(snapshots.jogadores(obj), ifNoneMatch);
+		}
+		return RankingSnapshots.response(snapshots.snapshot(snapshots.jogadores(quantidade, obj)), ifNoneMatch);
+	}
+
+	@RequestMapping(value = "/{id}/perfil", method = RequestMethod.GET)
+	public ResponseEntity<JogadorPerfilDTO> findPerfil(@PathVariable Integer id) {
+		JogadorPerfilDTO obj = jogo.findPerfilJogador(id);
+		return ResponseEntity.ok().body(obj);
+	}
+
+	@RequestMapping(value = "/{id}/partidas", method = RequestMethod.GET)
+	public ResponseEntity<PaginaDTO<RegistroPartidaDTO>> findPartidas(@PathVariable Integer id,
+			@RequestParam(value = "limite", required = false) Integer limite,
+			@RequestParam(value = "cursor", required = false) String cursor) {
+		int quantidade = Cursor.limite(limite);
+		Integer antesDe = Cursor.antesDe(cursor);
+		List<RegistroPartidaDTO> list = jogo.findRegistroPartidasByJogador(id, antesDe, quantidade + 1);
+		return ResponseEntity.ok().body(Cursor.pagina(list, quantidade, x -> Cursor.encode(x.getId())));
+	}
+
+	@RequestMapping(value = "/{id}/ranking", method = RequestMethod.GET)
+	public ResponseEntity<RankingJogadorDTO> rankJogador(@PathVariable Integer id) {
+		RankingJogadorDTO obj = new RankingJogadorDTO(jogo.rankJogador(id));
+		return ResponseEntity.ok().body(obj);
 	}
 
 	@RequestMapping(value = "/picture", method = RequestMethod.POST)
@@ -1,36 +1,51 @@
 package br.com.jogo.resources;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
 
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
 import br.com.jogo.domain.ConfiguracaoPartida;
 import br.com.jogo.domain.Jogador;
 import br.com.jogo.domain.RegistroPartida;
+import br.com.jogo.domain.ResultadoResposta;
+import br.com.jogo.dto.AnswerOutcomeDTO;
 import br.com.jogo.dto.ConfiguracaoPartidaDTO;
 import br.com.jogo.dto.ConfiguracaoPartidaNewDTO;
+import br.com.jogo.dto.PaginaDTO;
 import br.com.jogo.dto.QuestaoDTO;
 import br.com.jogo.dto.RankingDTO;
 import br.com.jogo.dto.RegistroPartidaDTO;
 import br.com.jogo.dto.RegistroPartidaNewDTO;
 import br.com.jogo.dto.RespostaDTO;
+import br.com.jogo.dto.RespostaLoteDTO;
 import br.com.jogo.facade.Jogo;
+import br.com.jogo.resources.utils.Cursor;
+import br.com.jogo.resources.utils.RankingSnapshots;
 import br.com.jogo.security.exceptions.AuthorizationException;
 import br.com.jogo.security.exceptions.InvalidRoleUser;
 import br.com.jogo.services.exceptions.ActivationException;
-import br.com.jogo.services.exceptions.IncorrectAlternativeException;
-import br.com.jogo.services.exceptions.InvalidNextQuestionException;
 import br.com.jogo.services.exceptions.ObjectNotFoundException;
 
 @RestController
@@ -38,6 +53,10 @@ import br.com.jogo.services.exceptions.ObjectNotFoundException;
 public class PartidaResource {
 	@Autowired
 	private Jogo jogo;
+	@Autowired
+	private RankingSnapshots snapshots;
+	@Autowired
+	private ObjectMapper mapper;
 
 	
 	@RequestMapping(value = "/configuracoes/{id}", method = RequestMethod.GET)
@@ -64,10 +83,13 @@ public class PartidaResource {
 	}
 
 	@RequestMapping(value = "/configuracoes", method = RequestMethod.GET)
-	public ResponseEntity<List<ConfiguracaoPartidaDTO>> findAllConfiguracaoPartidas() {
-		List<ConfiguracaoPartidaDTO> list = jogo.findAllConfiguracaoPartidas().stream().map(ConfiguracaoPartidaDTO::new)
-				.toList();
-		return ResponseEntity.ok().body(list);
+	public ResponseEntity<PaginaDTO<ConfiguracaoPartidaDTO>> findAllConfiguracaoPartidas(
+			@RequestParam(value = "limite", required = false) Integer limite,
+			@RequestParam(value = "cursor", required = false) String cursor) {
+		int quantidade = Cursor.limite(limite);
+		List<ConfiguracaoPartidaDTO> list = jogo.findAllConfiguracaoPartidas(Cursor.id(cursor), quantidade + 1).stream()
+				.map(ConfiguracaoPartidaDTO::new).toList();
+		return ResponseEntity.ok().body(Cursor.pagina(list, quantidade, x -> Cursor.encode(x.getId())));
 	}
 	
 	@RequestMapping(value = "/configuracoes/predefinidas", method = RequestMethod.GET)
@@ -115,32 +137,75 @@ public class PartidaResource {
 	}
 
 	@RequestMapping(method = RequestMethod.GET)
-	public ResponseEntity<List<RegistroPartidaDTO>> findAllRegistroPartidas() {
-		List<RegistroPartidaDTO> list = jogo.findAllRegistroPartidas().stream().map(RegistroPartidaDTO::new).toList();
-		return ResponseEntity.ok().body(list);
+	public ResponseEntity<PaginaDTO<RegistroPartidaDTO>> findAllRegistroPartidas(@RequestParam(value = "limite", required = false) Integer limite,
+			@RequestParam(value = "cursor", required = false) String cursor) {
+		int quantidade = Cursor.limite(limite);
+		List<RegistroPartidaDTO> list = jogo.findAllRegistroPartidas(Cursor.id(cursor), quantidade + 1);
+		return ResponseEntity.ok().body(Cursor.pagina(list, quantidade, x -> Cursor.encode(x.getId())));
+	}
+
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	@RequestMapping(value = "/exportacao", method = RequestMethod.GET)
+	public ResponseEntity<StreamingResponseBody> export() {
+		StreamingResponseBody body = out -> {
+			boolean[] vazia = { true };
+			try (SequenceWriter writer = mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+					.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE).withRootValueSeparator("\n")
+					.writeValues(out)) {
+				jogo.exportRegistroPartidas(obj -> {
+					try {
+						writer.write(obj);
+						vazia[0] = false;
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+			// o separador só vai entre os registros; a quebra final encerra o último
+			if (!vazia[0]) {
+				out.write('\n');
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
 	}
 
 	@RequestMapping(value = "/ranking", method = RequestMethod.GET)
-	public ResponseEntity<List<RankingDTO>> rankRegistroPartidas() {
-		List<RankingDTO> list = jogo.rankRegistroPartida().stream()
-				.map(x -> new RankingDTO(x.getJogador(), x.getPontuacao())).toList();
-		return ResponseEntity.ok().body(list);
+	public ResponseEntity<byte[]> rankRegistroPartidas(
+			@RequestParam(value = "limite", required = false) Integer limite,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+		int quantidade = Cursor.limite(limite, RankingSnapshots.TOPO, RankingSnapshots.LIMITE_MAXIMO);
+		if (cursor == null && quantidade == RankingSnapshots.TOPO) {
+			return RankingSnapshots.response(snapshots.partidas(), ifNoneMatch);
+		}
+		return RankingSnapshots.response(snapshots.snapshot(snapshots.partidas(quantidade, cursor)), ifNoneMatch);
 	}
 
 	@RequestMapping(value = "/ranking/configuracao/{id}", method = RequestMethod.GET)
-	public ResponseEntity<List<RankingDTO>> rankRegistroPartidas(@PathVariable Integer id) {
+	public ResponseEntity<List<RankingDTO>> rankRegistroPartidas(@PathVariable Integer id,
+			@RequestParam(value = "limite", required = false) Integer limite) {
 		ConfiguracaoPartida cp = new ConfiguracaoPartida();
 		cp.setId(id);
-		List<RankingDTO> list = jogo.rankRegistroPartidaByConfiguracaoPartida(cp).stream()
-				.map(x -> new RankingDTO(x.getJogador(), x.getPontuacao())).toList();
+		int quantidade = Cursor.limite(limite, RankingSnapshots.TOPO, RankingSnapshots.LIMITE_MAXIMO);
+		List<RankingDTO> list = jogo.rankRegistroPartidaByConfiguracaoPartida(cp, quantidade);
 		return ResponseEntity.ok().body(list);
 	}
 
 	@PreAuthorize("hasAnyRole('JOGADOR')")
 	@RequestMapping(value = "/responder", method = RequestMethod.POST)
-	public ResponseEntity<Void> answerQuestion(@RequestBody RespostaDTO objDto) throws AuthorizationException,
-	ObjectNotFoundException, ActivationException, IncorrectAlternativeException, InvalidNextQuestionException {
-		jogo.answerQuestion(objDto.getRegistroPartida(), objDto.getAlternativa());
-		return ResponseEntity.accepted().build();
+	public ResponseEntity<AnswerOutcomeDTO> answerQuestion(@RequestBody RespostaDTO objDto)
+			throws AuthorizationException, ObjectNotFoundException, ActivationException {
+		ResultadoResposta obj = jogo.answerQuestion(objDto.getRegistroPartida(), objDto.getAlternativa());
+		return ResponseEntity.ok().body(new AnswerOutcomeDTO(obj));
+	}
+
+	@PreAuthorize("hasAnyRole('JOGADOR')")
+	@RequestMapping(value = "/{id}/respostas", method = RequestMethod.POST)
+	public ResponseEntity<List<AnswerOutcomeDTO>> answerQuestions(@PathVariable Integer id,
+			@Valid @RequestBody RespostaLoteDTO objDto)
+			throws AuthorizationException, ObjectNotFoundException, ActivationException {
+		List<AnswerOutcomeDTO> list = jogo.answerQuestions(id, objDto.getAlternativasIds()).stream()
+				.map(AnswerOutcomeDTO::new).toList();
+		return ResponseEntity.ok().body(list);
 	}
 }
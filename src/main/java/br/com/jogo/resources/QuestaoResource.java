@@ -2,7 +2,6 @@ package br.com.jogo.resources;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import javax.validation.Valid;
 
@@ -13,14 +12,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import br.com.jogo.domain.Questao;
+import br.com.jogo.dto.PaginaDTO;
 import br.com.jogo.dto.QuestaoDTO;
 import br.com.jogo.dto.QuestaoNewDTO;
 import br.com.jogo.dto.QuestaoUpdateDTO;
 import br.com.jogo.facade.Jogo;
+import br.com.jogo.resources.utils.Cursor;
 
 @RestController
 @RequestMapping(path = "/questoes")
@@ -59,9 +61,10 @@ public class QuestaoResource {
 	}
 
 	@RequestMapping(method = RequestMethod.GET)
-	public ResponseEntity<List<QuestaoDTO>> findAll() {
-		List<Questao> list = jogo.findAllQuestoes();
-		List<QuestaoDTO> listDto = list.stream().map(obj -> new QuestaoDTO(obj)).collect(Collectors.toList());
-		return ResponseEntity.ok().body(listDto);
+	public ResponseEntity<PaginaDTO<QuestaoDTO>> findAll(@RequestParam(value = "limite", required = false) Integer limite,
+			@RequestParam(value = "cursor", required = false) String cursor) {
+		int quantidade = Cursor.limite(limite);
+		List<QuestaoDTO> list = jogo.findAllQuestoes(Cursor.id(cursor), quantidade + 1);
+		return ResponseEntity.ok().body(Cursor.pagina(list, quantidade, x -> Cursor.encode(x.getId())));
 	}
 }
@@ -15,8 +15,6 @@ import br.com.jogo.security.exceptions.InvalidTokenException;
 import br.com.jogo.services.exceptions.ActivationException;
 import br.com.jogo.services.exceptions.DataIntegrityException;
 import br.com.jogo.services.exceptions.FileException;
-import br.com.jogo.services.exceptions.IncorrectAlternativeException;
-import br.com.jogo.services.exceptions.InvalidNextQuestionException;
 import br.com.jogo.services.exceptions.ObjectNotFoundException;
 
 @ControllerAdvice
@@ -83,22 +81,8 @@ public class ResourceExceptionHandler {
 		return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(err);
 	}
 	
-	@ExceptionHandler(InvalidNextQuestionException.class)
-	public ResponseEntity<StandardError> invalidNextQuestionException(InvalidNextQuestionException e, HttpServletRequest request) {
-		StandardError err = new StandardError(System.currentTimeMillis(), 210,
-				"Vitória", e.getMessage(), request.getRequestURI());
-		return ResponseEntity.status(210).body(err);
-	}
-	
-	@ExceptionHandler(IncorrectAlternativeException.class)
-	public ResponseEntity<StandardError> incorrectAlternativeException(IncorrectAlternativeException e, HttpServletRequest request) {
-		StandardError err = new StandardError(System.currentTimeMillis(), HttpStatus.NOT_ACCEPTABLE.value(),
-				"Resposta Incorreta", e.getMessage(), request.getRequestURI());
-		return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(err);
-	}
-	
 	@ExceptionHandler(ActivationException.class)
-	public ResponseEntity<StandardError> activationException(IncorrectAlternativeException e, HttpServletRequest request) {
+	public ResponseEntity<StandardError> activationException(ActivationException e, HttpServletRequest request) {
 		StandardError err = new StandardError(System.currentTimeMillis(), HttpStatus.NOT_ACCEPTABLE.value(),
 				"Partida Inativa", e.getMessage(), request.getRequestURI());
 		return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(err);
@@ -0,0 +1,74 @@
+package br.com.jogo.resources.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import br.com.jogo.dto.PaginaDTO;
+
+/**
+ * Cursor opaco de paginação por chave: os valores da chave do último item da
+ * página, separados por vírgula e codificados em base64 url-safe.
+ */
+public final class Cursor {
+
+	public static final int LIMITE_PADRAO = 20;
+	public static final int LIMITE_MAXIMO = 100;
+
+	private Cursor() {
+	}
+
+	public static String encode(long... valores) {
+		String texto = Arrays.stream(valores).mapToObj(Long::toString).collect(Collectors.joining(","));
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static long[] decode(String cursor, int tamanho) throws IllegalArgumentException {
+		try {
+			String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			long[] valores = Arrays.stream(texto.split(",")).mapToLong(Long::parseLong).toArray();
+			if (valores.length != tamanho) {
+				throw new IllegalArgumentException("Cursor inválido: " + cursor);
+			}
+			return valores;
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Cursor inválido: " + cursor);
+		}
+	}
+
+	/** Id do último item da página anterior, ou 0 na primeira página. */
+	public static int id(String cursor) throws IllegalArgumentException {
+		return cursor == null ? 0 : (int) decode(cursor, 1)[0];
+	}
+
+	/** Como {@link #id(String)}, para listas decrescentes: null na primeira página. */
+	public static Integer antesDe(String cursor) throws IllegalArgumentException {
+		return cursor == null ? null : (int) decode(cursor, 1)[0];
+	}
+
+	public static int limite(Integer limite) {
+		return limite(limite, LIMITE_PADRAO, LIMITE_MAXIMO);
+	}
+
+	public static int limite(Integer limite, int padrao, int maximo) {
+		if (limite == null) {
+			return padrao;
+		}
+		return Math.min(Math.max(limite, 1), maximo);
+	}
+
+	/**
+	 * Monta a página a partir de uma consulta feita com {@code limite + 1}
+	 * itens: o item extra só indica que há próxima página.
+	 */
+	public static <T> PaginaDTO<T> pagina(List<T> itens, int limite, Function<T, String> chave) {
+		if (itens.size() <= limite) {
+			return new PaginaDTO<>(itens, null);
+		}
+		List<T> pagina = itens.subList(0, limite);
+		return new PaginaDTO<>(pagina, chave.apply(pagina.get(limite - 1)));
+	}
+}
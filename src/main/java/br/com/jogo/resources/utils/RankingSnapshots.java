@@ -0,0 +1,119 @@
+package br.com.jogo.resources.utils;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.jogo.domain.enums.Janela;
+import br.com.jogo.dto.PaginaDTO;
+import br.com.jogo.dto.RankingDTO;
+import br.com.jogo.dto.RankingPartidaDTO;
+import br.com.jogo.facade.Jogo;
+
+/**
+ * Publica periodicamente o JSON já serializado das primeiras posições dos
+ * rankings, com uma ETag forte, para que as consultas mais frequentes sejam
+ * respondidas só com a leitura de uma referência.
+ */
+@Component
+public class RankingSnapshots {
+
+	public static final int TOPO = 100;
+	public static final int LIMITE_MAXIMO = 500;
+
+	@Autowired
+	private Jogo jogo;
+	@Autowired
+	private ObjectMapper mapper;
+
+	private volatile Map<Janela, Snapshot> jogadores = Map.of();
+	private volatile Snapshot partidas;
+
+	@Scheduled(fixedDelayString = "${jogo.ranking.publicacao:5000}")
+	public void publish() {
+		Map<Janela, Snapshot> novos = new EnumMap<>(Janela.class);
+		for (Janela janela : Janela.values()) {
+			novos.put(janela, snapshot(jogadores(TOPO, janela)));
+		}
+		jogadores = novos;
+		partidas = snapshot(partidas(TOPO, null));
+	}
+
+	public Snapshot jogadores(Janela janela) {
+		Snapshot obj = jogadores.get(janela);
+		if (obj == null) {
+			publish();
+			obj = jogadores.get(janela);
+		}
+		return obj;
+	}
+
+	public Snapshot partidas() {
+		Snapshot obj = partidas;
+		if (obj == null) {
+			publish();
+			obj = partidas;
+		}
+		return obj;
+	}
+
+	public List<RankingDTO> jogadores(int limite, Janela janela) {
+		return jogo.rankJogadores(limite, janela).stream()
+				.map(obj -> new RankingDTO(obj.getJogadorId(), obj.getNomeUsuario(), obj.getPontuacao())).toList();
+	}
+
+	public PaginaDTO<RankingPartidaDTO> partidas(int quantidade, String cursor) {
+		List<RankingPartidaDTO> list;
+		if (cursor == null) {
+			list = jogo.rankRegistroPartida(null, null, quantidade + 1);
+		} else {
+			long[] chave = Cursor.decode(cursor, 2);
+			list = jogo.rankRegistroPartida((int) chave[0], (int) chave[1], quantidade + 1);
+		}
+		return Cursor.pagina(list, quantidade, x -> Cursor.encode(x.getPontuacao(), x.getRegistroPartidaId()));
+	}
+
+	public Snapshot snapshot(Object body) {
+		try {
+			return new Snapshot(mapper.writeValueAsBytes(body));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Erro ao serializar o ranking: " + e.getMessage(), e);
+		}
+	}
+
+	public static ResponseEntity<byte[]> response(Snapshot obj, String ifNoneMatch) {
+		if (ifNoneMatch != null && (ifNoneMatch.contains(obj.getEtag()) || ifNoneMatch.trim().equals("*"))) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(obj.getEtag()).build();
+		}
+		return ResponseEntity.ok().eTag(obj.getEtag()).contentType(MediaType.APPLICATION_JSON).body(obj.getJson());
+	}
+
+	public static final class Snapshot {
+		private final byte[] json;
+		private final String etag;
+
+		private Snapshot(byte[] json) {
+			this.json = json;
+			this.etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+		}
+
+		public byte[] getJson() {
+			return json;
+		}
+
+		public String getEtag() {
+			return etag;
+		}
+	}
+}
@@ -49,9 +49,7 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 	@Override
 	protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
 			Authentication authResult) throws IOException, ServletException, InvalidTokenException{
-		String username = ((UserSS) authResult.getPrincipal()).getUsername();
-		System.out.println((UserSS) authResult.getPrincipal());
-		String token = jwtUtil.generateAuthToken(username);
+		String token = jwtUtil.generateAuthToken((UserSS) authResult.getPrincipal());
 		response.addHeader("Authorization", "Bearer " + token);
 		response.addHeader("access-control-expose-headers", "Authorization");
 	}
@@ -47,6 +47,9 @@ public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
 		if (jwtUtil.validToken(token)) {
 			String username = jwtUtil.getSubject(token);
 			UserDetails user = userDetailsService.loadUserByUsername(username);
+			if (jwtUtil.getVersaoToken(token) != ((UserSS) user).getVersaoToken()) {
+				return null;
+			}
 			return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
 		}
 		return null;
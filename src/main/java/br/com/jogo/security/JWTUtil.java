@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import br.com.jogo.domain.enums.Role;
 import br.com.jogo.security.exceptions.InvalidTokenException;
 import br.com.jogo.services.UsuarioService;
 import io.jsonwebtoken.Claims;
@@ -17,6 +18,8 @@ import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 @Component
 public class JWTUtil {
+	private static final String VERSAO = "ver";
+
 	@Value("${jwt.secret}")
 	private String secret;
 	@Value("${jwt.expiration}")
@@ -25,14 +28,20 @@ public class JWTUtil {
 	private UsuarioService usuarioService;
 
 	private String generateToken(String subject) {
+		return generateToken(subject, null);
+	}
+
+	private String generateToken(String subject, Integer versaoToken) {
 		SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
-		return Jwts.builder().setSubject(subject).setExpiration(new Date(System.currentTimeMillis() + expiration))
-				.signWith(key).compact();
+		return Jwts.builder().setSubject(subject).claim(VERSAO, versaoToken)
+				.setExpiration(new Date(System.currentTimeMillis() + expiration)).signWith(key).compact();
 	}
 
-	public String generateAuthToken(String username) {
-		usuarioService.registerAccess(username);
-		return generateToken(username);
+	public String generateAuthToken(UserSS user) {
+		if (user.hasRole(Role.JOGADOR)) {
+			usuarioService.registerAccess(user.getId());
+		}
+		return generateToken(user.getUsername(), user.getVersaoToken());
 	}
 
 	public String generatePasswordRecoveryToken(String username, String password) {
@@ -60,6 +69,13 @@ public class JWTUtil {
 		return null;
 	}
 
+	// tokens emitidos antes da versão existir valem como versão 0
+	public int getVersaoToken(String token) {
+		Claims claims = getClaims(token);
+		Integer versao = claims != null ? claims.get(VERSAO, Integer.class) : null;
+		return versao != null ? versao : 0;
+	}
+
 	private Claims getClaims(String token) throws InvalidTokenException{
 		try {
 			return Jwts.parserBuilder().setSigningKey(secret.getBytes()).build().parseClaimsJws(token).getBody();
@@ -15,16 +15,18 @@ public class UserSS implements UserDetails {
 	private Integer id;
 	private String email;
 	private String senha;
+	private int versaoToken;
 	private Collection<? extends GrantedAuthority> authorities;
 
 	public UserSS() {
 	}
 
-	public UserSS(Integer id, String email, String senha, Role role) {
+	public UserSS(Integer id, String email, String senha, Role role, int versaoToken) {
 		super();
 		this.id = id;
 		this.email = email;
 		this.senha = senha;
+		this.versaoToken = versaoToken;
 		this.authorities = Set.of(new SimpleGrantedAuthority(role.getDescricao()));
 	}
 
@@ -32,6 +34,10 @@ public class UserSS implements UserDetails {
 		return id;
 	}
 
+	public int getVersaoToken() {
+		return versaoToken;
+	}
+
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
 		return authorities;
@@ -3,11 +3,11 @@ package br.com.jogo.services;
 import java.util.List;
 import java.util.Optional;
 
-import javax.transaction.Transactional;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.jogo.domain.Admin;
 import br.com.jogo.repositories.AdminRepository;
@@ -19,6 +19,8 @@ public class AdminService {
 
 	@Autowired
 	private AdminRepository repository;
+	@Autowired
+	private CredencialService credencialService;
 
 	public Admin find(Integer id) throws ObjectNotFoundException {
 		Optional<Admin> obj = repository.findById(id);
@@ -29,13 +31,18 @@ public class AdminService {
 	@Transactional
 	public Admin insert(Admin obj) {
 		obj.setId(null);
-		return repository.save(obj);
+		obj = repository.save(obj);
+		credencialService.register(obj);
+		return obj;
 	}
 
+	@Transactional
 	public Admin update(Admin obj) {
 		Admin newObj = find(obj.getId());
 		updateData(obj, newObj);
-		return repository.save(newObj);
+		newObj = repository.save(newObj);
+		credencialService.register(newObj);
+		return newObj;
 	}
 
 	private void updateData(Admin obj, Admin aux) {
@@ -50,10 +57,13 @@ public class AdminService {
 		}
 	}
 
+	@Transactional
 	public void delete(Integer id) throws ObjectNotFoundException {
 		find(id);
 		try {
 			repository.deleteById(id);
+			repository.flush();
+			credencialService.delete(id);
 		} catch (DataIntegrityViolationException e) {
 			throw new DataIntegrityException("Não é possivel excluir um admin relacionado");
 		} catch (ObjectNotFoundException e) {
@@ -63,4 +73,8 @@ public class AdminService {
 	public List<Admin> findAll() {
 		return repository.findAll();
 	}
+
+	public List<Admin> findAll(Integer id, int quantidade) {
+		return repository.findByIdGreaterThanOrderByIdAsc(id, PageRequest.of(0, quantidade));
+	}
 }
@@ -0,0 +1,149 @@
+package br.com.jogo.services;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import br.com.jogo.domain.Alternativa;
+import br.com.jogo.domain.Questao;
+import br.com.jogo.repositories.QuestaoRepository;
+
+/**
+ * Mapa primitivo alternativaId -> (questaoId << 1 | correta), com endereçamento
+ * aberto, usado para conferir respostas sem ir ao banco. O valor 0 indica
+ * alternativa ausente.
+ */
+@Component
+public class AlternativaIndex {
+
+	@Autowired
+	private QuestaoRepository repository;
+
+	private int[] chaves = new int[1024];
+	private int[] valores = new int[1024];
+	private int tamanho;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	@PostConstruct
+	public void load() {
+		rebuild(repository.findAllAlternativaIndexData());
+	}
+
+	public void rebuild(List<Object[]> rows) {
+		lock.writeLock().lock();
+		try {
+			chaves = new int[Math.max(1024, Integer.highestOneBit(Math.max(1, rows.size()) * 4))];
+			valores = new int[chaves.length];
+			tamanho = 0;
+			for (Object[] row : rows) {
+				insert((Integer) row[0], pack((Integer) row[1], (Boolean) row[2]));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void put(Questao obj) {
+		lock.writeLock().lock();
+		try {
+			for (Alternativa a : obj.getAlternativas()) {
+				insert(a.getId(), pack(obj.getId(), a.isCorreta()));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Iterable<Integer> alternativasIds) {
+		lock.writeLock().lock();
+		try {
+			for (Integer id : alternativasIds) {
+				delete(id);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int lookup(int alternativaId) {
+		lock.readLock().lock();
+		try {
+			int i = slot(alternativaId);
+			return chaves[i] == alternativaId ? valores[i] : 0;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public static int questaoId(int resposta) {
+		return resposta >>> 1;
+	}
+
+	public static boolean isCorreta(int resposta) {
+		return (resposta & 1) != 0;
+	}
+
+	private static int pack(int questaoId, boolean correta) {
+		return questaoId << 1 | (correta ? 1 : 0);
+	}
+
+	private int slot(int chave) {
+		int mask = chaves.length - 1;
+		int i = (chave * 0x9E3779B9) >>> 7 & mask;
+		while (chaves[i] != 0 && chaves[i] != chave) {
+			i = (i + 1) & mask;
+		}
+		return i;
+	}
+
+	private void insert(int chave, int valor) {
+		if ((tamanho + 1) * 2 > chaves.length) {
+			resize(chaves.length * 2);
+		}
+		int i = slot(chave);
+		if (chaves[i] == 0) {
+			chaves[i] = chave;
+			tamanho++;
+		}
+		valores[i] = valor;
+	}
+
+	private void delete(int chave) {
+		int mask = chaves.length - 1;
+		int i = slot(chave);
+		if (chaves[i] == 0) {
+			return;
+		}
+		chaves[i] = 0;
+		valores[i] = 0;
+		tamanho--;
+		// reposiciona o restante do cluster para não quebrar a sondagem linear
+		for (int j = (i + 1) & mask; chaves[j] != 0; j = (j + 1) & mask) {
+			int k = chaves[j];
+			int v = valores[j];
+			chaves[j] = 0;
+			valores[j] = 0;
+			int destino = slot(k);
+			chaves[destino] = k;
+			valores[destino] = v;
+		}
+	}
+
+	private void resize(int capacidade) {
+		int[] antigasChaves = chaves;
+		int[] antigosValores = valores;
+		chaves = new int[capacidade];
+		valores = new int[capacidade];
+		for (int i = 0; i < antigasChaves.length; i++) {
+			if (antigasChaves[i] != 0) {
+				int destino = slot(antigasChaves[i]);
+				chaves[destino] = antigasChaves[i];
+				valores[destino] = antigosValores[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package br.com.jogo.services;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import br.com.jogo.domain.Alternativa;
+import br.com.jogo.domain.Categoria;
+import br.com.jogo.domain.Item;
+import br.com.jogo.domain.Questao;
+import br.com.jogo.dto.CacheRegiaoDTO;
+
+/**
+ * Remove do cache de segundo nível apenas as entradas tocadas por uma escrita
+ * de admin e expõe os acertos e falhas de cada região.
+ */
+@Service
+public class CacheService {
+
+	private static final String QUESTAO_ALTERNATIVAS = Questao.class.getName() + ".alternativas";
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	public void evictCategoria(Integer id) {
+		cache().evictEntityData(Categoria.class, id);
+	}
+
+	public void evictItem(Integer id) {
+		cache().evictEntityData(Item.class, id);
+	}
+
+	public void evictQuestao(Integer id, Collection<Integer> alternativasIds) {
+		Cache cache = cache();
+		cache.evictEntityData(Questao.class, id);
+		cache.evictCollectionData(QUESTAO_ALTERNATIVAS, id);
+		for (Integer alternativaId : alternativasIds) {
+			cache.evictEntityData(Alternativa.class, alternativaId);
+		}
+	}
+
+	public List<CacheRegiaoDTO> statistics() {
+		Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+		return Arrays.stream(stats.getSecondLevelCacheRegionNames()).sorted()
+				.map(x -> new CacheRegiaoDTO(x, stats.getDomainDataRegionStatistics(x))).toList();
+	}
+
+	private Cache cache() {
+		return emf.unwrap(SessionFactory.class).getCache();
+	}
+}
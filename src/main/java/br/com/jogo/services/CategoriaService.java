@@ -3,11 +3,11 @@ package br.com.jogo.services;
 import java.util.List;
 import java.util.Optional;
 
-import javax.transaction.Transactional;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.jogo.domain.Categoria;
 import br.com.jogo.repositories.CategoriaRepository;
@@ -55,4 +55,9 @@ public class CategoriaService {
 	public List<Categoria> findAll() {
 		return repository.findAll();
 	}
+
+	@Transactional(readOnly = true)
+	public List<Categoria> findAll(Integer id, int quantidade) {
+		return repository.findByIdGreaterThanOrderByIdAsc(id, PageRequest.of(0, quantidade));
+	}
 }
@@ -4,11 +4,11 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-import javax.transaction.Transactional;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.jogo.domain.ConfiguracaoPartida;
 import br.com.jogo.repositories.ConfiguracaoPartidaRepository;
@@ -20,6 +20,8 @@ public class ConfiguracaoPartidaService {
 
 	@Autowired
 	private ConfiguracaoPartidaRepository repository;
+	@Autowired
+	private MelhorPontuacaoService melhorPontuacaoService;
 
 	public ConfiguracaoPartida find(Integer id) throws ObjectNotFoundException {
 		Optional<ConfiguracaoPartida> obj = repository.findById(id);
@@ -50,6 +52,9 @@ public class ConfiguracaoPartidaService {
 		if (obj.getQuestoes() != null) {
 			aux.setQuestoes(obj.getQuestoes());
 		}
+		if (obj.getBaralho() != null) {
+			aux.setBaralho(obj.getBaralho());
+		}
 		if (obj.getCategorias() == null) {
 			aux.setCategorias(Set.copyOf(obj.getQuestoes().stream().map(q -> q.getCategoria()).toList()));
 		} else {
@@ -61,6 +66,7 @@ public class ConfiguracaoPartidaService {
 		find(id);
 		try {
 			repository.deleteById(id);
+			melhorPontuacaoService.deleteByConfiguracaoPartida(id);
 		} catch (DataIntegrityViolationException e) {
 			throw new DataIntegrityException("Não é possivel excluir uma questão que possui alternativas");
 		} catch (ObjectNotFoundException e) {
@@ -70,6 +76,11 @@ public class ConfiguracaoPartidaService {
 	public List<ConfiguracaoPartida> findAll() {
 		return repository.findAll();
 	}
+
+	@Transactional(readOnly = true)
+	public List<ConfiguracaoPartida> findAll(Integer id, int quantidade) {
+		return repository.findByIdGreaterThanOrderByIdAsc(id, PageRequest.of(0, quantidade));
+	}
 	
 	public List<ConfiguracaoPartida> findPreseteds() {
 		return repository.findByPredefinidaTrue();
@@ -0,0 +1,55 @@
+package br.com.jogo.services;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import br.com.jogo.domain.Credencial;
+import br.com.jogo.domain.Usuario;
+import br.com.jogo.repositories.CredencialRepository;
+import br.com.jogo.services.exceptions.ObjectNotFoundException;
+
+@Service
+public class CredencialService {
+
+	@Autowired
+	private CredencialRepository repository;
+
+	@PostConstruct
+	public void backfill() {
+		if (repository.count() == 0) {
+			repository.saveAll(repository.findBackfillData().stream()
+					.map(x -> new Credencial((Integer) x[0], (String) x[1], (Integer) x[2], (String) x[3]))
+					.toList());
+		}
+	}
+
+	public Credencial findByEmail(String email) throws ObjectNotFoundException {
+		Optional<Credencial> obj = repository.findByEmail(email);
+		return obj.orElseThrow(() -> new ObjectNotFoundException(
+				"Objeto não encontrado, E-mail: " + email + ", Tipo: " + Credencial.class.getName()));
+	}
+
+	// trocar a senha invalida os tokens emitidos com a versão anterior
+	public void register(Usuario obj) {
+		Credencial credencial = repository.findById(obj.getId()).orElse(null);
+		if (credencial == null) {
+			repository.save(new Credencial(obj));
+			return;
+		}
+		if (!Objects.equals(credencial.getSenha(), obj.getSenha())) {
+			credencial.setSenha(obj.getSenha());
+			credencial.addVersaoToken();
+		}
+		credencial.setEmail(obj.getEmail());
+		repository.save(credencial);
+	}
+
+	public void delete(Integer usuarioId) {
+		repository.findById(usuarioId).ifPresent(repository::delete);
+	}
+}
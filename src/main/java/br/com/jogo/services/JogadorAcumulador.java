@@ -0,0 +1,332 @@
+package br.com.jogo.services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.jogo.domain.Jogador;
+import br.com.jogo.dto.JogadorSummary;
+import br.com.jogo.services.exceptions.FileException;
+
+/**
+ * Acumula em memória os incrementos de pontuação, saldo e partidas de cada
+ * jogador e os grava no banco em lote, com UPDATEs aditivos, a cada intervalo e
+ * no desligamento. Cada incremento é antes anotado em um diário local, que é
+ * reaplicado na inicialização caso a aplicação tenha caído antes do flush.
+ * <p>
+ * Cada diário começa com um cabeçalho com sua sequência, e o lote grava essa
+ * sequência na mesma transação dos UPDATEs; um diário com sequência já gravada
+ * no banco não é reaplicado, mesmo que a queda tenha sido entre o commit e a
+ * remoção do arquivo.
+ */
+@Component
+public class JogadorAcumulador {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JogadorAcumulador.class);
+	private static final int REGISTRO = 16;
+	private static final String UPDATE = "update jogador set pontuacao_total = pontuacao_total + ?, "
+			+ "saldo = saldo + ?, qtd_partidas = qtd_partidas + ? where id = ?";
+	private static final String SELECT_SEQUENCIA = "select sequencia from acumulador_sequencia where id = 1";
+	private static final String UPDATE_SEQUENCIA = "update acumulador_sequencia set sequencia = ? where id = 1";
+	private static final String INSERT_SEQUENCIA = "insert into acumulador_sequencia (id, sequencia) values (1, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${jogo.acumulador.diario:acumulador.journal}")
+	private String diario;
+
+	// incrementos do diário atual
+	private volatile Map<Integer, Delta> deltas = new ConcurrentHashMap<>();
+	// incrementos do diário rotacionado, ainda visíveis nas leituras até o commit do lote
+	private volatile Map<Integer, Delta> gravando = Map.of();
+	private long sequencia;
+	private long sequenciaGravando;
+	private volatile long aplicada;
+	private FileChannel canal;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	@PostConstruct
+	public void load() {
+		aplicada = jdbcTemplate.queryForList(SELECT_SEQUENCIA, Long.class).stream().findFirst().orElse(0L);
+		Diario anterior = read(gravando());
+		Diario atual = read(Paths.get(diario));
+		if (anterior != null && anterior.sequencia > aplicada) {
+			gravando = anterior.deltas;
+			sequenciaGravando = anterior.sequencia;
+		} else {
+			delete(gravando());
+		}
+		if (atual != null && atual.sequencia > aplicada) {
+			deltas = atual.deltas;
+			sequencia = atual.sequencia;
+			canal = open(Paths.get(diario));
+		} else {
+			sequencia = Math.max(aplicada, anterior == null ? 0 : anterior.sequencia) + 1;
+			canal = create(Paths.get(diario), sequencia);
+		}
+		flush();
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		flush();
+		canal.close();
+	}
+
+	/**
+	 * Anota o incremento depois do commit da transação atual. Uma queda entre o
+	 * commit e a gravação do diário perde o incremento; depois dela, o registro
+	 * já está no disco.
+	 */
+	public void add(Integer jogadorId, int pontuacao, int saldo, int partidas) {
+		AfterCommit.run(() -> append(jogadorId, pontuacao, saldo, partidas));
+	}
+
+	/**
+	 * Nunca altera o jogador recebido, que pode ser uma entidade gerenciada; com
+	 * incrementos pendentes devolve uma cópia desanexada com eles somados.
+	 */
+	public Jogador applyPending(Jogador obj) {
+		long[] d = pending(obj.getId());
+		if (d == null) {
+			return obj;
+		}
+		return new Jogador(obj.getId(), obj.getNome(), obj.getNomeUsuario(), obj.getEmail(), obj.getSenha(), 0,
+				obj.getQtdPartidas() + (int) d[2], obj.getPontuacaoTotal() + (int) d[0], obj.getSaldo() + (int) d[1],
+				obj.getUltimoAcesso(), obj.getQtdAcessosContinuo(), null);
+	}
+
+	public JogadorSummary applyPending(JogadorSummary obj) {
+		long[] d = pending(obj.getId());
+		if (d != null) {
+			obj.setPontuacaoTotal(obj.getPontuacaoTotal() + (int) d[0]);
+			obj.setSaldo(obj.getSaldo() + (int) d[1]);
+			obj.setQtdPartidas(obj.getQtdPartidas() + (int) d[2]);
+		}
+		return obj;
+	}
+
+	@Scheduled(fixedDelayString = "${jogo.acumulador.intervalo:5000}")
+	public synchronized void flush() {
+		// um lote que falhou é refeito antes de rotacionar de novo
+		if (!gravando.isEmpty() && !commit()) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			if (deltas.isEmpty()) {
+				return;
+			}
+			gravando = deltas;
+			sequenciaGravando = sequencia;
+			deltas = new ConcurrentHashMap<>();
+			rotate();
+		} finally {
+			lock.writeLock().unlock();
+		}
+		commit();
+	}
+
+	// os UPDATEs e a sequência do diário rotacionado vão na mesma transação
+	private boolean commit() {
+		List<Object[]> lote = gravando.entrySet().stream().map(e -> e.getValue().toRow(e.getKey()))
+				.filter(Objects::nonNull).toList();
+		try {
+			transactionTemplate.executeWithoutResult(s -> {
+				jdbcTemplate.batchUpdate(UPDATE, lote);
+				if (jdbcTemplate.update(UPDATE_SEQUENCIA, sequenciaGravando) == 0) {
+					jdbcTemplate.update(INSERT_SEQUENCIA, sequenciaGravando);
+				}
+			});
+		} catch (RuntimeException e) {
+			LOG.error("Falha ao gravar os acumulados de {} jogadores, nova tentativa no próximo ciclo", lote.size(), e);
+			return false;
+		}
+		aplicada = sequenciaGravando;
+		gravando = Map.of();
+		delete(gravando());
+		return true;
+	}
+
+	/**
+	 * Sequência do último diário gravado no banco; só cresce, a não ser que o
+	 * banco seja restaurado de uma cópia anterior.
+	 */
+	public long sequenciaAplicada() {
+		return aplicada;
+	}
+
+	private long[] pending(Integer jogadorId) {
+		Delta a = gravando.get(jogadorId);
+		Delta b = deltas.get(jogadorId);
+		if (a == null && b == null) {
+			return null;
+		}
+		long[] d = new long[3];
+		for (Delta x : new Delta[] { a, b }) {
+			if (x != null) {
+				d[0] += x.pontuacao.sum();
+				d[1] += x.saldo.sum();
+				d[2] += x.partidas.sum();
+			}
+		}
+		return d;
+	}
+
+	// a trava de leitura é compartilhada entre os incrementos, só o flush a exclui
+	private void append(Integer jogadorId, int pontuacao, int saldo, int partidas) {
+		lock.readLock().lock();
+		try {
+			write(jogadorId, pontuacao, saldo, partidas);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void write(Integer jogadorId, int pontuacao, int saldo, int partidas) {
+		ByteBuffer buf = ByteBuffer.allocate(REGISTRO).putInt(jogadorId).putInt(pontuacao).putInt(saldo)
+				.putInt(partidas).flip();
+		try {
+			while (buf.hasRemaining()) {
+				canal.write(buf);
+			}
+			canal.force(false);
+		} catch (IOException e) {
+			throw new FileException("Erro ao gravar o diário do acumulador: " + e.getMessage());
+		}
+		deltas.computeIfAbsent(jogadorId, k -> new Delta()).add(pontuacao, saldo, partidas);
+	}
+
+	// o diário atual passa a ser o que está sendo gravado e um novo é aberto com a próxima sequência
+	private void rotate() {
+		try {
+			canal.force(false);
+			canal.close();
+			Files.move(Paths.get(diario), gravando(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new FileException("Erro ao rotacionar o diário do acumulador: " + e.getMessage());
+		}
+		canal = create(Paths.get(diario), ++sequencia);
+	}
+
+	private static Diario read(Path arquivo) {
+		if (!Files.exists(arquivo)) {
+			return null;
+		}
+		try {
+			ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(arquivo));
+			// sem o cabeçalho completo o diário foi criado e nada chegou a ser anotado
+			if (buf.remaining() < REGISTRO) {
+				return null;
+			}
+			if (buf.getInt() != 0) {
+				throw new FileException("Diário do acumulador sem cabeçalho: " + arquivo);
+			}
+			Diario obj = new Diario(buf.getLong());
+			buf.getInt();
+			// um registro incompleto no fim é de uma escrita interrompida e é ignorado
+			while (buf.remaining() >= REGISTRO) {
+				obj.deltas.computeIfAbsent(buf.getInt(), k -> new Delta()).add(buf.getInt(), buf.getInt(),
+						buf.getInt());
+			}
+			return obj;
+		} catch (IOException e) {
+			throw new FileException("Erro ao ler o diário do acumulador: " + e.getMessage());
+		}
+	}
+
+	private Path gravando() {
+		return Paths.get(diario + ".flush");
+	}
+
+	private static FileChannel open(Path arquivo) {
+		try {
+			return FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			throw new FileException("Erro ao abrir o diário do acumulador: " + e.getMessage());
+		}
+	}
+
+	// o cabeçalho é o id 0, que nenhum jogador usa, seguido da sequência
+	private static FileChannel create(Path arquivo, long sequencia) {
+		delete(arquivo);
+		FileChannel obj = open(arquivo);
+		ByteBuffer buf = ByteBuffer.allocate(REGISTRO).putInt(0).putLong(sequencia).putInt(0).flip();
+		try {
+			while (buf.hasRemaining()) {
+				obj.write(buf);
+			}
+			obj.force(true);
+		} catch (IOException e) {
+			throw new FileException("Erro ao criar o diário do acumulador: " + e.getMessage());
+		}
+		return obj;
+	}
+
+	private static void delete(Path arquivo) {
+		try {
+			Files.deleteIfExists(arquivo);
+		} catch (IOException e) {
+			throw new FileException("Erro ao apagar o diário do acumulador: " + e.getMessage());
+		}
+	}
+
+	private static final class Diario {
+		private final long sequencia;
+		private final Map<Integer, Delta> deltas = new ConcurrentHashMap<>();
+
+		private Diario(long sequencia) {
+			this.sequencia = sequencia;
+		}
+	}
+
+	private static final class Delta {
+		private final LongAdder pontuacao = new LongAdder();
+		private final LongAdder saldo = new LongAdder();
+		private final LongAdder partidas = new LongAdder();
+
+		private void add(int pontos, int saldo, int partidas) {
+			this.pontuacao.add(pontos);
+			this.saldo.add(saldo);
+			this.partidas.add(partidas);
+		}
+
+		private Object[] toRow(Integer jogadorId) {
+			long p = pontuacao.sum();
+			long s = saldo.sum();
+			long n = partidas.sum();
+			if (p == 0 && s == 0 && n == 0) {
+				return null;
+			}
+			return new Object[] { (int) p, (int) s, (int) n, jogadorId };
+		}
+	}
+}
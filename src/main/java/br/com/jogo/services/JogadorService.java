@@ -3,14 +3,18 @@ package br.com.jogo.services;
 import java.util.List;
 import java.util.Optional;
 
-import javax.transaction.Transactional;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.jogo.domain.Jogador;
+import br.com.jogo.domain.enums.Janela;
+import br.com.jogo.dto.JogadorSummary;
 import br.com.jogo.repositories.JogadorRepository;
+import br.com.jogo.services.Leaderboard.Entrada;
+import br.com.jogo.services.Leaderboard.Vizinhanca;
 import br.com.jogo.services.exceptions.DataIntegrityException;
 import br.com.jogo.services.exceptions.ObjectNotFoundException;
 
@@ -19,23 +23,53 @@ public class JogadorService {
 
 	@Autowired
 	private JogadorRepository repository;
+	@Autowired
+	private CredencialService credencialService;
+	@Autowired
+	private JogadorAcumulador acumulador;
+	@Autowired
+	private RankingService rankingService;
+	@Autowired
+	private MelhorPontuacaoService melhorPontuacaoService;
 
+	// contadores crus do banco; é esta a entidade que se altera e grava
 	public Jogador find(Integer id) throws ObjectNotFoundException {
 		Optional<Jogador> obj = repository.findById(id);
 		return obj.orElseThrow(() -> new ObjectNotFoundException(
 				"Objeto não encontrado, Id: " + id + ", Tipo: " + Jogador.class.getName()));
 	}
 
+	// só para leitura: com incrementos pendentes é uma cópia desanexada, que não deve ser gravada
+	public Jogador findView(Integer id) throws ObjectNotFoundException {
+		return acumulador.applyPending(find(id));
+	}
+
+	public JogadorSummary findSummary(Integer id) throws ObjectNotFoundException {
+		Optional<JogadorSummary> obj = repository.findSummaryById(id);
+		return acumulador.applyPending(obj.orElseThrow(() -> new ObjectNotFoundException(
+				"Objeto não encontrado, Id: " + id + ", Tipo: " + Jogador.class.getName())));
+	}
+
 	@Transactional
 	public Jogador insert(Jogador obj) {
 		obj.setId(null);
-		return repository.save(obj);
+		obj = repository.save(obj);
+		credencialService.register(obj);
+		rankingService.put(obj);
+		return obj;
 	}
 
+	@Transactional
 	public Jogador update(Jogador obj) {
 		Jogador newObj = find(obj.getId());
 		updateData(obj, newObj);
-		return repository.save(newObj);
+		newObj = repository.save(newObj);
+		credencialService.register(newObj);
+		if (obj.getNomeUsuario() != null) {
+			melhorPontuacaoService.updateNomeUsuario(newObj.getId(), newObj.getNomeUsuario());
+		}
+		rankingService.put(acumulador.applyPending(newObj));
+		return newObj;
 	}
 
 	private void updateData(Jogador obj, Jogador aux) {
@@ -48,27 +82,47 @@ public class JogadorService {
 		if (obj.getNomeUsuario() != null) {
 			aux.setNomeUsuario(obj.getNomeUsuario());
 		}
-		aux.setSaldo(obj.getSaldo());
+		if (obj.getSenha() != null) {
+			aux.setSenha(obj.getSenha());
+		}
 		if (obj.getUltimoAcesso() != null) {
 			aux.setUltimoAcesso(obj.getUltimoAcesso());
 		}
 	}
 
+	@Transactional
 	public void delete(Integer id) {
 		find(id);
 		try {
 			repository.deleteById(id);
+			// dentro da transação a violação só apareceria no commit, fora deste catch
+			repository.flush();
+			credencialService.delete(id);
+			melhorPontuacaoService.deleteByJogador(id);
+			rankingService.remove(id);
 		} catch (DataIntegrityViolationException e) {
 			throw new DataIntegrityException("Não é possivel excluir um jogador relacionado");
 		} catch (ObjectNotFoundException e) {
 		}
 	}
 
-	public List<Jogador> rank() {
-		return repository.findAllByOrderByPontuacaoTotalDesc();
+	public List<Entrada> rank(int quantidade, Janela janela) {
+		return rankingService.top(quantidade, janela);
+	}
+
+	public double topPercentual(JogadorSummary obj) {
+		return rankingService.topPercentual(obj.getPontuacaoTotal());
+	}
+
+	public Vizinhanca rankOf(Integer id, int raio) throws ObjectNotFoundException {
+		return rankingService.around(id, raio);
 	}
 
 	public List<Jogador> findAll() {
 		return repository.findAll();
 	}
+
+	public List<Jogador> findAll(Integer id, int quantidade) {
+		return repository.findByIdGreaterThanOrderByIdAsc(id, PageRequest.of(0, quantidade));
+	}
 }
@@ -0,0 +1,327 @@
+package br.com.jogo.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ranking em memória mantido em uma skip list indexada: cada ligação guarda
+ * quantas posições ela salta, o que dá a posição de um jogador e o acesso pela
+ * posição em O(log n). A ordem é pontuação decrescente e, no empate, id
+ * crescente.
+ */
+public class Leaderboard {
+
+	private static final int MAX_NIVEL = 32;
+	private static final Comparator<Entrada> ORDEM = Comparator.comparingInt(Entrada::getPontuacao).reversed()
+			.thenComparing(Entrada::getJogadorId);
+
+	private final No cabeca = new No(null, MAX_NIVEL);
+	private final Map<Integer, Entrada> entradas = new HashMap<>();
+	private int nivel = 1;
+	private int tamanho;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public void rebuild(List<Object[]> rows) {
+		lock.writeLock().lock();
+		try {
+			for (int i = 0; i < MAX_NIVEL; i++) {
+				cabeca.proximos[i] = null;
+				cabeca.larguras[i] = 0;
+			}
+			entradas.clear();
+			nivel = 1;
+			tamanho = 0;
+			for (Object[] row : rows) {
+				insert(new Entrada((Integer) row[0], (String) row[1], ((Number) row[2]).intValue()));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** Insere ou substitui a entrada do jogador e devolve a anterior, se havia. */
+	public Entrada put(Integer jogadorId, String nomeUsuario, int pontuacao) {
+		lock.writeLock().lock();
+		try {
+			Entrada antiga = entradas.get(jogadorId);
+			if (antiga != null) {
+				delete(antiga);
+			}
+			insert(new Entrada(jogadorId, nomeUsuario, pontuacao));
+			return antiga;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** Soma pontos a um jogador já presente e devolve a nova entrada, ou null. */
+	public Entrada add(Integer jogadorId, int pontos) {
+		lock.writeLock().lock();
+		try {
+			Entrada antiga = entradas.get(jogadorId);
+			if (antiga == null || pontos == 0) {
+				return antiga;
+			}
+			delete(antiga);
+			Entrada nova = new Entrada(jogadorId, antiga.nomeUsuario, antiga.pontuacao + pontos);
+			insert(nova);
+			return nova;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public Entrada remove(Integer jogadorId) {
+		lock.writeLock().lock();
+		try {
+			Entrada antiga = entradas.get(jogadorId);
+			if (antiga != null) {
+				delete(antiga);
+			}
+			return antiga;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return tamanho;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<Entrada> top(int quantidade) {
+		return range(1, quantidade);
+	}
+
+	/** Entradas a partir da posição {@code inicio} (1 = primeiro lugar). */
+	public List<Entrada> range(int inicio, int quantidade) {
+		lock.readLock().lock();
+		try {
+			List<Entrada> list = new ArrayList<>(Math.max(0, Math.min(quantidade, tamanho - inicio + 1)));
+			No x = inicio >= 1 ? noNaPosicao(inicio) : null;
+			while (x != null && list.size() < quantidade) {
+				list.add(x.entrada);
+				x = x.proximos[0];
+			}
+			return list;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Posição do jogador (1 = primeiro lugar) ou 0 se ele não está no ranking. */
+	public int rankOf(Integer jogadorId) {
+		lock.readLock().lock();
+		try {
+			Entrada e = entradas.get(jogadorId);
+			return e != null ? posicao(e) : 0;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * O jogador e até {@code raio} jogadores acima e abaixo dele, lidos sob a
+	 * mesma trava; null se ele não está no ranking.
+	 */
+	public Vizinhanca around(Integer jogadorId, int raio) {
+		lock.readLock().lock();
+		try {
+			Entrada e = entradas.get(jogadorId);
+			if (e == null) {
+				return null;
+			}
+			int posicao = posicao(e);
+			int inicio = Math.max(1, posicao - raio);
+			List<Entrada> list = new ArrayList<>();
+			No x = noNaPosicao(inicio);
+			while (x != null && list.size() < posicao - inicio + raio + 1) {
+				list.add(x.entrada);
+				x = x.proximos[0];
+			}
+			return new Vizinhanca(posicao, list.subList(0, posicao - inicio),
+					list.subList(posicao - inicio + 1, list.size()));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public Entrada find(Integer jogadorId) {
+		lock.readLock().lock();
+		try {
+			return entradas.get(jogadorId);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private int posicao(Entrada e) {
+		int posicao = 0;
+		No x = cabeca;
+		for (int i = nivel - 1; i >= 0; i--) {
+			while (x.proximos[i] != null && ORDEM.compare(x.proximos[i].entrada, e) <= 0) {
+				posicao += x.larguras[i];
+				x = x.proximos[i];
+			}
+			if (x.entrada == e) {
+				return posicao;
+			}
+		}
+		return 0;
+	}
+
+	private No noNaPosicao(int posicao) {
+		int percorrido = 0;
+		No x = cabeca;
+		for (int i = nivel - 1; i >= 0; i--) {
+			while (x.proximos[i] != null && percorrido + x.larguras[i] <= posicao) {
+				percorrido += x.larguras[i];
+				x = x.proximos[i];
+			}
+			if (percorrido == posicao) {
+				return x;
+			}
+		}
+		return null;
+	}
+
+	private void insert(Entrada e) {
+		No[] anteriores = new No[MAX_NIVEL];
+		int[] posicoes = new int[MAX_NIVEL];
+		No x = cabeca;
+		for (int i = nivel - 1; i >= 0; i--) {
+			posicoes[i] = i == nivel - 1 ? 0 : posicoes[i + 1];
+			while (x.proximos[i] != null && ORDEM.compare(x.proximos[i].entrada, e) < 0) {
+				posicoes[i] += x.larguras[i];
+				x = x.proximos[i];
+			}
+			anteriores[i] = x;
+		}
+		int niveis = sorteiaNivel();
+		if (niveis > nivel) {
+			for (int i = nivel; i < niveis; i++) {
+				posicoes[i] = 0;
+				anteriores[i] = cabeca;
+				cabeca.larguras[i] = tamanho;
+			}
+			nivel = niveis;
+		}
+		No novo = new No(e, niveis);
+		for (int i = 0; i < niveis; i++) {
+			novo.proximos[i] = anteriores[i].proximos[i];
+			anteriores[i].proximos[i] = novo;
+			novo.larguras[i] = anteriores[i].larguras[i] - (posicoes[0] - posicoes[i]);
+			anteriores[i].larguras[i] = posicoes[0] - posicoes[i] + 1;
+		}
+		for (int i = niveis; i < nivel; i++) {
+			anteriores[i].larguras[i]++;
+		}
+		entradas.put(e.jogadorId, e);
+		tamanho++;
+	}
+
+	private void delete(Entrada e) {
+		No[] anteriores = new No[MAX_NIVEL];
+		No x = cabeca;
+		for (int i = nivel - 1; i >= 0; i--) {
+			while (x.proximos[i] != null && ORDEM.compare(x.proximos[i].entrada, e) < 0) {
+				x = x.proximos[i];
+			}
+			anteriores[i] = x;
+		}
+		x = x.proximos[0];
+		if (x == null || x.entrada != e) {
+			return;
+		}
+		for (int i = 0; i < nivel; i++) {
+			if (anteriores[i].proximos[i] == x) {
+				anteriores[i].larguras[i] += x.larguras[i] - 1;
+				anteriores[i].proximos[i] = x.proximos[i];
+			} else {
+				anteriores[i].larguras[i]--;
+			}
+		}
+		while (nivel > 1 && cabeca.proximos[nivel - 1] == null) {
+			nivel--;
+		}
+		entradas.remove(e.jogadorId);
+		tamanho--;
+	}
+
+	private static int sorteiaNivel() {
+		int niveis = 1;
+		while (niveis < MAX_NIVEL && ThreadLocalRandom.current().nextInt(4) == 0) {
+			niveis++;
+		}
+		return niveis;
+	}
+
+	public static final class Entrada {
+		private final Integer jogadorId;
+		private final String nomeUsuario;
+		private final int pontuacao;
+
+		public Entrada(Integer jogadorId, String nomeUsuario, int pontuacao) {
+			this.jogadorId = jogadorId;
+			this.nomeUsuario = nomeUsuario;
+			this.pontuacao = pontuacao;
+		}
+
+		public Integer getJogadorId() {
+			return jogadorId;
+		}
+
+		public String getNomeUsuario() {
+			return nomeUsuario;
+		}
+
+		public int getPontuacao() {
+			return pontuacao;
+		}
+	}
+
+	public static final class Vizinhanca {
+		private final int posicao;
+		private final List<Entrada> acima;
+		private final List<Entrada> abaixo;
+
+		public Vizinhanca(int posicao, List<Entrada> acima, List<Entrada> abaixo) {
+			this.posicao = posicao;
+			this.acima = acima;
+			this.abaixo = abaixo;
+		}
+
+		public int getPosicao() {
+			return posicao;
+		}
+
+		public List<Entrada> getAcima() {
+			return acima;
+		}
+
+		public List<Entrada> getAbaixo() {
+			return abaixo;
+		}
+	}
+
+	private static final class No {
+		private final Entrada entrada;
+		private final No[] proximos;
+		private final int[] larguras;
+
+		private No(Entrada entrada, int niveis) {
+			this.entrada = entrada;
+			this.proximos = new No[niveis];
+			this.larguras = new int[niveis];
+		}
+	}
+}
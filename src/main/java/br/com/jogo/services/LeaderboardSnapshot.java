@@ -0,0 +1,243 @@
+package br.com.jogo.services;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import br.com.jogo.services.Leaderboard.Entrada;
+import br.com.jogo.services.exceptions.FileException;
+
+/**
+ * Fotografia binária do ranking geral, lida e gravada por mapeamento em
+ * memória, mais um arquivo de cauda com as alterações posteriores a ela. Cada
+ * registro da cauda traz a pontuação absoluta do jogador, então reaplicar um
+ * registro duas vezes não muda o resultado.
+ * <p>
+ * O cabeçalho da fotografia guarda a sequência do acumulador já gravada no
+ * banco quando ela foi escrita e o CRC32 do corpo, e cada registro da cauda
+ * termina com o CRC32 dele; assim a fotografia é conferida sem ler a tabela de
+ * jogadores.
+ */
+public class LeaderboardSnapshot {
+
+	private static final int MAGICO = 0x4A4F474F;
+	private static final int VERSAO = 2;
+	private static final int CABECALHO = 24;
+	private static final int REGISTRO = 15;
+	private static final byte PUT = 1;
+	private static final byte REMOVE = 2;
+
+	private final Path arquivo;
+	private final Path cauda;
+	private final Path caudaAnterior;
+	private FileChannel canal;
+
+	public LeaderboardSnapshot(String arquivo) {
+		this.arquivo = Paths.get(arquivo);
+		this.cauda = Paths.get(arquivo + ".tail");
+		this.caudaAnterior = Paths.get(arquivo + ".tail.old");
+	}
+
+	/**
+	 * Linhas (id, nomeUsuario, pontuacao) da última fotografia com a cauda
+	 * reaplicada, ou null se não há fotografia válida. Uma fotografia gravada
+	 * depois da sequência aplicada no banco é de um banco mais adiantado que o
+	 * atual, restaurado ou de outra instância, e também não vale.
+	 */
+	public List<Object[]> restore(long sequenciaAplicada) {
+		if (!Files.exists(arquivo)) {
+			return null;
+		}
+		Map<Integer, Object[]> linhas = new LinkedHashMap<>();
+		try (FileChannel in = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			MappedByteBuffer buf = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+			if (buf.getInt() != MAGICO || buf.getInt() != VERSAO || buf.getLong() > sequenciaAplicada) {
+				return null;
+			}
+			int tamanho = buf.getInt();
+			int crc = buf.getInt();
+			if (crc != crc(buf.slice())) {
+				return null;
+			}
+			for (int i = 0; i < tamanho; i++) {
+				int id = buf.getInt();
+				int pontuacao = buf.getInt();
+				linhas.put(id, new Object[] { id, readString(buf), pontuacao });
+			}
+		} catch (IOException | BufferUnderflowException e) {
+			return null;
+		}
+		if (!replay(caudaAnterior, linhas) || !replay(cauda, linhas)) {
+			return null;
+		}
+		return new ArrayList<>(linhas.values());
+	}
+
+	public void put(Entrada e) {
+		append(registro(PUT, e.getJogadorId(), e.getPontuacao(), bytes(e.getNomeUsuario())));
+	}
+
+	public void remove(Integer jogadorId) {
+		append(registro(REMOVE, jogadorId, 0, new byte[0]));
+	}
+
+	/**
+	 * Fecha a cauda atual; a partir daqui as alterações vão para uma nova cauda
+	 * e a fotografia deve ser gravada com {@link #write(List, long)}.
+	 */
+	public void rotate() {
+		try {
+			if (canal != null) {
+				canal.close();
+				canal = null;
+			}
+			if (!Files.exists(cauda)) {
+				return;
+			}
+			// se a gravação anterior falhou, a cauda antiga ainda é necessária e a atual vai para o fim dela
+			if (Files.exists(caudaAnterior)) {
+				Files.write(caudaAnterior, Files.readAllBytes(cauda), StandardOpenOption.APPEND);
+				Files.delete(cauda);
+			} else {
+				Files.move(cauda, caudaAnterior);
+			}
+		} catch (IOException e) {
+			throw new FileException("Erro ao rotacionar a cauda do ranking: " + e.getMessage());
+		}
+	}
+
+	public void write(List<Entrada> entradas, long sequenciaAplicada) {
+		List<byte[]> nomes = new ArrayList<>(entradas.size());
+		long tamanho = CABECALHO;
+		for (Entrada e : entradas) {
+			byte[] nome = bytes(e.getNomeUsuario());
+			nomes.add(nome);
+			tamanho += 10 + nome.length;
+		}
+		Path temporario = Paths.get(arquivo + ".tmp");
+		try (FileChannel out = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			MappedByteBuffer buf = out.map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+			buf.putInt(MAGICO).putInt(VERSAO).putLong(sequenciaAplicada).putInt(entradas.size()).putInt(0);
+			for (int i = 0; i < entradas.size(); i++) {
+				Entrada e = entradas.get(i);
+				buf.putInt(e.getJogadorId()).putInt(e.getPontuacao()).putShort((short) nomes.get(i).length)
+						.put(nomes.get(i));
+			}
+			buf.putInt(CABECALHO - 4, crc(buf.slice(CABECALHO, (int) tamanho - CABECALHO)));
+			buf.force();
+		} catch (IOException e) {
+			throw new FileException("Erro ao gravar a fotografia do ranking: " + e.getMessage());
+		}
+		try {
+			Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			Files.deleteIfExists(caudaAnterior);
+		} catch (IOException e) {
+			throw new FileException("Erro ao gravar a fotografia do ranking: " + e.getMessage());
+		}
+	}
+
+	/** Apaga a fotografia; a próxima gravação completa volta a valer. */
+	public void invalidate() {
+		try {
+			Files.deleteIfExists(arquivo);
+		} catch (IOException e) {
+			throw new FileException("Erro ao apagar a fotografia do ranking: " + e.getMessage());
+		}
+	}
+
+	public void close() throws IOException {
+		if (canal != null) {
+			canal.close();
+			canal = null;
+		}
+	}
+
+	private void append(ByteBuffer registro) {
+		try {
+			if (canal == null) {
+				canal = FileChannel.open(cauda, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.APPEND);
+			}
+			while (registro.hasRemaining()) {
+				canal.write(registro);
+			}
+		} catch (IOException e) {
+			throw new FileException("Erro ao gravar a cauda do ranking: " + e.getMessage());
+		}
+	}
+
+	// tipo, id, pontuação, nome e o CRC32 de tudo isso
+	private static ByteBuffer registro(byte tipo, int id, int pontuacao, byte[] nome) {
+		ByteBuffer buf = ByteBuffer.allocate(REGISTRO + nome.length).put(tipo).putInt(id).putInt(pontuacao)
+				.putShort((short) nome.length).put(nome);
+		return buf.putInt(crc(buf.duplicate().flip())).flip();
+	}
+
+	/*
+	 * Um registro incompleto ou com CRC errado no fim é de uma escrita
+	 * interrompida e é ignorado; com CRC errado antes do fim a cauda está
+	 * corrompida e a fotografia não vale.
+	 */
+	private static boolean replay(Path arquivo, Map<Integer, Object[]> linhas) {
+		if (!Files.exists(arquivo)) {
+			return true;
+		}
+		ByteBuffer buf;
+		try {
+			buf = ByteBuffer.wrap(Files.readAllBytes(arquivo));
+		} catch (IOException e) {
+			throw new FileException("Erro ao ler a cauda do ranking: " + e.getMessage());
+		}
+		while (buf.remaining() >= REGISTRO) {
+			int inicio = buf.position();
+			int fim = inicio + REGISTRO + (buf.getShort(inicio + 9) & 0xffff);
+			if (fim > buf.limit()) {
+				return true;
+			}
+			if (buf.getInt(fim - 4) != crc(buf.slice(inicio, fim - inicio - 4))) {
+				return fim == buf.limit();
+			}
+			byte tipo = buf.get();
+			int id = buf.getInt();
+			int pontuacao = buf.getInt();
+			String nome = readString(buf);
+			buf.position(fim);
+			if (tipo == PUT) {
+				linhas.put(id, new Object[] { id, nome, pontuacao });
+			} else {
+				linhas.remove(id);
+			}
+		}
+		return true;
+	}
+
+	private static int crc(ByteBuffer buf) {
+		CRC32 obj = new CRC32();
+		obj.update(buf);
+		return (int) obj.getValue();
+	}
+
+	private static String readString(ByteBuffer buf) {
+		byte[] nome = new byte[buf.getShort() & 0xffff];
+		buf.get(nome);
+		return new String(nome, StandardCharsets.UTF_8);
+	}
+
+	private static byte[] bytes(String nome) {
+		return nome == null ? new byte[0] : nome.getBytes(StandardCharsets.UTF_8);
+	}
+}
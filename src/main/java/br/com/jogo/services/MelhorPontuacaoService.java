@@ -0,0 +1,81 @@
+package br.com.jogo.services;
+
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.jogo.domain.MelhorPontuacao;
+import br.com.jogo.domain.MelhorPontuacaoPK;
+import br.com.jogo.domain.RegistroPartida;
+import br.com.jogo.dto.RankingDTO;
+import br.com.jogo.repositories.MelhorPontuacaoRepository;
+
+@Service
+public class MelhorPontuacaoService {
+
+	private static final String INSERT = "insert into melhor_pontuacao "
+			+ "(configuracao_partida_id, jogador_id, nome_usuario, pontuacao) values (?, ?, ?, ?)";
+
+	@Autowired
+	private MelhorPontuacaoRepository repository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@PostConstruct
+	public void backfill() {
+		if (repository.count() == 0) {
+			repository.saveAll(repository.findBackfillData().stream()
+					.map(x -> new MelhorPontuacao((Integer) x[0], (Integer) x[1], (String) x[2],
+							((Number) x[3]).intValue()))
+					.toList());
+		}
+	}
+
+	/**
+	 * O máximo é calculado pelo próprio UPDATE, então duas partidas do mesmo
+	 * jogador terminando juntas não sobrescrevem uma à outra. Se a linha ainda
+	 * não existe ela é inserida; quando outra partida a inseriu primeiro, a
+	 * chave duplicada vira um novo UPDATE em vez de desfazer a resposta.
+	 */
+	@Transactional
+	public void register(RegistroPartida obj) {
+		MelhorPontuacaoPK id = new MelhorPontuacaoPK(obj.getConfiguracaoPartida().getId(), obj.getJogador().getId());
+		if (repository.updatePontuacao(id, obj.getPontuacao()) > 0) {
+			return;
+		}
+		// pelo JDBC, porque uma falha pelo EntityManager marcaria a transação da resposta para rollback
+		try {
+			jdbcTemplate.update(INSERT, id.getConfiguracaoPartidaId(), id.getJogadorId(),
+					obj.getJogador().getNomeUsuario(), obj.getPontuacao());
+		} catch (DuplicateKeyException e) {
+			repository.updatePontuacao(id, obj.getPontuacao());
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public List<RankingDTO> rank(Integer configuracaoPartidaId, int quantidade) {
+		return repository.findRanking(configuracaoPartidaId, PageRequest.of(0, quantidade));
+	}
+
+	@Transactional
+	public void updateNomeUsuario(Integer jogadorId, String nomeUsuario) {
+		repository.updateNomeUsuario(jogadorId, nomeUsuario);
+	}
+
+	@Transactional
+	public void deleteByJogador(Integer jogadorId) {
+		repository.deleteByJogador(jogadorId);
+	}
+
+	@Transactional
+	public void deleteByConfiguracaoPartida(Integer configuracaoPartidaId) {
+		repository.deleteByConfiguracaoPartida(configuracaoPartidaId);
+	}
+}
@@ -0,0 +1,79 @@
+package br.com.jogo.services;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de pontuações com baldes logarítmicos: exatos até 15 e, a partir
+ * daí, 8 baldes por potência de 2 (erro relativo de até 12,5%). São 232
+ * contadores fixos para todo o intervalo de int, e cada mudança de pontuação
+ * custa dois incrementos.
+ */
+public class PontuacaoHistograma {
+
+	private static final int EXATOS = 16;
+	private static final int SUB_BALDES = 8;
+	private static final int BALDES = EXATOS + (31 - 4) * SUB_BALDES;
+
+	private final AtomicLongArray contagens = new AtomicLongArray(BALDES);
+	private final LongAdder total = new LongAdder();
+
+	public void add(int pontuacao) {
+		contagens.incrementAndGet(balde(pontuacao));
+		total.increment();
+	}
+
+	public void remove(int pontuacao) {
+		contagens.decrementAndGet(balde(pontuacao));
+		total.decrement();
+	}
+
+	public void move(int de, int para) {
+		int origem = balde(de);
+		int destino = balde(para);
+		if (origem != destino) {
+			contagens.decrementAndGet(origem);
+			contagens.incrementAndGet(destino);
+		}
+	}
+
+	public void clear() {
+		for (int i = 0; i < BALDES; i++) {
+			contagens.set(i, 0);
+		}
+		total.reset();
+	}
+
+	public long size() {
+		return total.sum();
+	}
+
+	/**
+	 * Percentual aproximado de jogadores com pontuação maior ou igual à
+	 * informada, ou seja, o "top X%" de quem tem essa pontuação.
+	 */
+	public double topPercentual(int pontuacao) {
+		long n = total.sum();
+		if (n <= 0) {
+			return 100.0;
+		}
+		int b = balde(pontuacao);
+		long acima = 0;
+		for (int i = b + 1; i < BALDES; i++) {
+			acima += contagens.get(i);
+		}
+		// dentro do próprio balde a posição é estimada como o meio dele
+		long mesmoBalde = Math.max(contagens.get(b), 1);
+		double posicao = acima + (mesmoBalde + 1) / 2.0;
+		return Math.min(100.0, Math.ceil(1000.0 * posicao / n) / 10.0);
+	}
+
+	static int balde(int pontuacao) {
+		if (pontuacao < EXATOS) {
+			return Math.max(pontuacao, 0);
+		}
+		int expoente = 31 - Integer.numberOfLeadingZeros(pontuacao);
+		int sub = (pontuacao >>> (expoente - 3)) & (SUB_BALDES - 1);
+		return EXATOS + (expoente - 4) * SUB_BALDES + sub;
+	}
+}
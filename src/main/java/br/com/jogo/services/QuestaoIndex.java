@@ -0,0 +1,287 @@
+package br.com.jogo.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.jogo.domain.Questao;
+import br.com.jogo.repositories.QuestaoRepository;
+
+/**
+ * Índice em memória do banco de questões, particionado por nível x categoria.
+ * Cada partição guarda os ids em um {@link BitSet} e em um vetor denso, o que
+ * permite sortear uma questão elegível de forma uniforme sem consultar o banco.
+ * O sorteio usa amostragem por rejeição sobre as partições do filtro (O(1)
+ * esperado enquanto as questões excluídas forem minoria) e só percorre os
+ * candidatos quando quase todos já foram respondidos.
+ */
+@Component
+public class QuestaoIndex {
+
+	private static final int TENTATIVAS = 32;
+
+	@Autowired
+	private QuestaoRepository repository;
+
+	@Value("${jogo.questoes.seed:#{null}}")
+	private Long seed;
+
+	private Random random;
+	private final Map<Long, Particao> particoes = new HashMap<>();
+	private final BitSet todas = new BitSet();
+	private int[] posicoes = new int[64];
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public QuestaoIndex() {
+	}
+
+	public QuestaoIndex(Random random) {
+		this.random = random;
+	}
+
+	@PostConstruct
+	public void load() {
+		if (random == null && seed != null) {
+			random = new Random(seed);
+		}
+		rebuild(repository.findAllIndexData());
+	}
+
+	public void rebuild(List<Object[]> rows) {
+		lock.writeLock().lock();
+		try {
+			particoes.clear();
+			todas.clear();
+			for (Object[] row : rows) {
+				add((Integer) row[0], (Integer) row[1], (Integer) row[2]);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void put(Questao obj) {
+		put(obj.getId(), obj.getNivel(), obj.getCategoria() != null ? obj.getCategoria().getId() : null);
+	}
+
+	public void put(Integer id, int nivel, Integer categoriaId) {
+		lock.writeLock().lock();
+		try {
+			clear(id);
+			add(id, nivel, categoriaId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Integer id) {
+		lock.writeLock().lock();
+		try {
+			clear(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public boolean contains(Integer id) {
+		lock.readLock().lock();
+		try {
+			return id != null && todas.get(id);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return todas.cardinality();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public Optional<Integer> findOneNotIn(Set<Integer> excluidas) {
+		return sample(0, null, excluidas);
+	}
+
+	public Optional<Integer> findOneByNivel(int nivel, Set<Integer> excluidas) {
+		return sample(nivel, null, excluidas);
+	}
+
+	public int[] shuffle(int nivel, Set<Integer> categorias) {
+		lock.readLock().lock();
+		try {
+			int total = 0;
+			for (Map.Entry<Long, Particao> e : particoes.entrySet()) {
+				if (matches(e.getKey(), nivel, categorias)) {
+					total += e.getValue().tamanho;
+				}
+			}
+			int[] ids = new int[total];
+			int i = 0;
+			for (Map.Entry<Long, Particao> e : particoes.entrySet()) {
+				if (matches(e.getKey(), nivel, categorias)) {
+					System.arraycopy(e.getValue().densos, 0, ids, i, e.getValue().tamanho);
+					i += e.getValue().tamanho;
+				}
+			}
+			return shuffle(ids);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int[] shuffle(int[] ids) {
+		for (int i = ids.length - 1; i > 0; i--) {
+			int j = nextInt(i + 1);
+			int aux = ids[i];
+			ids[i] = ids[j];
+			ids[j] = aux;
+		}
+		return ids;
+	}
+
+	private Optional<Integer> sample(int nivel, Set<Integer> categorias, Set<Integer> excluidas) {
+		lock.readLock().lock();
+		try {
+			List<Particao> candidatas = new ArrayList<>();
+			int total = 0;
+			for (Map.Entry<Long, Particao> e : particoes.entrySet()) {
+				if (matches(e.getKey(), nivel, categorias)) {
+					candidatas.add(e.getValue());
+					total += e.getValue().tamanho;
+				}
+			}
+			if (total == 0) {
+				return Optional.empty();
+			}
+			for (int i = 0; i < TENTATIVAS; i++) {
+				int id = idAt(candidatas, nextInt(total));
+				if (excluidas == null || !excluidas.contains(id)) {
+					return Optional.of(id);
+				}
+			}
+			return sampleExact(candidatas, total, excluidas);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private Optional<Integer> sampleExact(List<Particao> candidatas, int total, Set<Integer> excluidas) {
+		int excluidasNoFiltro = 0;
+		for (Integer id : excluidas) {
+			if (id != null && candidatas.stream().anyMatch(p -> p.ids.get(id))) {
+				excluidasNoFiltro++;
+			}
+		}
+		int restantes = total - excluidasNoFiltro;
+		if (restantes <= 0) {
+			return Optional.empty();
+		}
+		int alvo = nextInt(restantes);
+		for (Particao p : candidatas) {
+			for (int i = 0; i < p.tamanho; i++) {
+				int id = p.densos[i];
+				if (!excluidas.contains(id) && alvo-- == 0) {
+					return Optional.of(id);
+				}
+			}
+		}
+		return Optional.empty();
+	}
+
+	private static int idAt(List<Particao> candidatas, int posicao) {
+		for (Particao p : candidatas) {
+			if (posicao < p.tamanho) {
+				return p.densos[posicao];
+			}
+			posicao -= p.tamanho;
+		}
+		throw new IllegalStateException("Posição fora das partições: " + posicao);
+	}
+
+	private int nextInt(int bound) {
+		return random != null ? random.nextInt(bound) : ThreadLocalRandom.current().nextInt(bound);
+	}
+
+	private static boolean matches(long chave, int nivel, Set<Integer> categorias) {
+		if (nivel != 0 && nivelOf(chave) != nivel) {
+			return false;
+		}
+		return categorias == null || categorias.isEmpty() || categorias.contains(categoriaOf(chave));
+	}
+
+	private void add(Integer id, int nivel, Integer categoriaId) {
+		Particao p = particoes.computeIfAbsent(chave(nivel, categoriaId), k -> new Particao());
+		if (id >= posicoes.length) {
+			posicoes = Arrays.copyOf(posicoes, Math.max(id + 1, posicoes.length * 2));
+		}
+		posicoes[id] = p.tamanho;
+		p.add(id);
+		todas.set(id);
+	}
+
+	private void clear(Integer id) {
+		if (!todas.get(id)) {
+			return;
+		}
+		particoes.values().removeIf(p -> {
+			if (p.ids.get(id)) {
+				int movido = p.removeAt(posicoes[id]);
+				posicoes[movido] = posicoes[id];
+			}
+			return p.tamanho == 0;
+		});
+		todas.clear(id);
+	}
+
+	private static long chave(int nivel, Integer categoriaId) {
+		return ((long) nivel << 32) | ((categoriaId != null ? categoriaId : 0) & 0xffffffffL);
+	}
+
+	private static int nivelOf(long chave) {
+		return (int) (chave >>> 32);
+	}
+
+	private static int categoriaOf(long chave) {
+		return (int) chave;
+	}
+
+	private static final class Particao {
+		private final BitSet ids = new BitSet();
+		private int[] densos = new int[8];
+		private int tamanho;
+
+		private void add(int id) {
+			if (tamanho == densos.length) {
+				densos = Arrays.copyOf(densos, tamanho * 2);
+			}
+			densos[tamanho++] = id;
+			ids.set(id);
+		}
+
+		// troca o removido pelo último e devolve o id que mudou de posição
+		private int removeAt(int posicao) {
+			int removido = densos[posicao];
+			int ultimo = densos[--tamanho];
+			densos[posicao] = ultimo;
+			ids.clear(removido);
+			return ultimo;
+		}
+	}
+}
@@ -1,19 +1,23 @@
 package br.com.jogo.services;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.jogo.domain.Alternativa;
 import br.com.jogo.domain.Categoria;
 import br.com.jogo.domain.Questao;
+import br.com.jogo.dto.AlternativaDTO;
+import br.com.jogo.dto.QuestaoDTO;
 import br.com.jogo.repositories.QuestaoRepository;
 import br.com.jogo.services.exceptions.DataIntegrityException;
 import br.com.jogo.services.exceptions.ObjectNotFoundException;
@@ -24,22 +28,41 @@ public class QuestaoService {
 	@Autowired
 	private QuestaoRepository repository;
 
+	@Autowired
+	private QuestaoIndex index;
+	@Autowired
+	private AlternativaIndex alternativaIndex;
+
 	public Questao find(Integer id) throws ObjectNotFoundException{
 		Optional<Questao> obj = repository.findById(id);
 		return obj.orElseThrow(() -> new ObjectNotFoundException(
 				"Objeto não encontrado, Id: " + id + ", Tipo: " + Questao.class.getName()));
 	}
 
+	// os índices só mudam depois do commit, então um rollback não deixa questão fantasma neles
 	@Transactional
 	public Questao insert(Questao obj) {
 		obj.setId(null);
-		return repository.save(obj);
+		Questao newObj = repository.save(obj);
+		AfterCommit.run(() -> {
+			index.put(newObj);
+			alternativaIndex.put(newObj);
+		});
+		return newObj;
 	}
 
+	@Transactional
 	public Questao update(Questao obj) {
 		Questao newObj = find(obj.getId());
 		updateData(obj, newObj);
-		return repository.save(newObj);
+		Questao salva = repository.save(newObj);
+		List<Integer> antigasIds = salva.getAlternativas().stream().map(Alternativa::getId).toList();
+		AfterCommit.run(() -> {
+			index.put(salva);
+			alternativaIndex.remove(antigasIds);
+			alternativaIndex.put(salva);
+		});
+		return salva;
 	}
 
 	private void updateData(Questao obj, Questao aux) {
@@ -54,10 +77,17 @@ public class QuestaoService {
 		}
 	}
 
+	@Transactional
 	public void delete(Integer id) {
-		find(id);
+		List<Integer> alternativasIds = find(id).getAlternativas().stream().map(Alternativa::getId).toList();
 		try {
 			repository.deleteById(id);
+			// dentro da transação a violação só apareceria no commit, fora deste catch
+			repository.flush();
+			AfterCommit.run(() -> {
+				index.remove(id);
+				alternativaIndex.remove(alternativasIds);
+			});
 		} catch (DataIntegrityViolationException e) {
 			throw new DataIntegrityException("Não é possivel excluir uma questão que possui alternativas");
 		} catch (ObjectNotFoundException e) {
@@ -68,6 +98,29 @@ public class QuestaoService {
 		return repository.findAll();
 	}
 
+	// duas consultas, independente da quantidade de questões
+	@Transactional(readOnly = true)
+	public List<QuestaoDTO> findAllDTO(Integer id, int quantidade) {
+		List<QuestaoDTO> list = repository.findAllDTOAfter(id, PageRequest.of(0, quantidade));
+		if (list.isEmpty()) {
+			return list;
+		}
+		Map<Integer, QuestaoDTO> porId = new HashMap<>();
+		list.forEach(x -> porId.put(x.getId(), x));
+		for (Object[] row : repository.findAlternativasDTO(porId.keySet())) {
+			porId.get((Integer) row[0]).getAlternativas().add(new AlternativaDTO((Integer) row[1], (String) row[2]));
+		}
+		return list;
+	}
+
+	public Questao getReference(Integer id) {
+		return repository.getReferenceById(id);
+	}
+
+	public boolean isAvailable(Integer id) {
+		return index.contains(id);
+	}
+
 	public Questao findByAlternativa(Alternativa alternativa) throws ObjectNotFoundException {
 		Optional<Questao> obj = repository.findByAlternativas(alternativa);
 		return obj.orElseThrow(() -> new ObjectNotFoundException(
@@ -75,38 +128,37 @@ public class QuestaoService {
 	}
 
 	private Set<Integer> SetOfIdsQuestoes(Set<Questao> questoes) {
-		Set<Integer> ids;
-		if (questoes != null && !questoes.isEmpty()) {
-			ids = questoes.stream().map(obj -> obj.getId()).collect(Collectors.toSet());
-		} else {
-			ids = Set.of(0);
+		if (questoes == null || questoes.isEmpty()) {
+			return Set.of();
 		}
-		return ids;
+		return questoes.stream().map(obj -> obj.getId()).collect(Collectors.toSet());
 	}
 
-	public Questao findOneNotIn(Set<Questao> questoes) throws ObjectNotFoundException {
-		Optional<Questao> obj = repository.findDistinctFirstByIdNotIn(SetOfIdsQuestoes(questoes));
-		return obj.orElseThrow(
-				() -> new ObjectNotFoundException("Objeto não encontrado, Tipo: " + Questao.class.getName()));
+	private Set<Integer> SetOfIdsCategorias(Set<Categoria> categorias) {
+		if (categorias == null) {
+			return null;
+		}
+		return categorias.stream().map(obj -> obj.getId()).collect(Collectors.toSet());
 	}
 
-	public Questao findOneByCategoria(Set<Categoria> categorias, Set<Questao> questoes) throws ObjectNotFoundException {
-		Optional<Questao> obj = repository.findDistinctFirstByCategoriaNotInAndIdNotIn(categorias,
-				SetOfIdsQuestoes(questoes));
-		return obj.orElseThrow(
+	private Questao findIndexed(Optional<Integer> id) throws ObjectNotFoundException {
+		return id.map(this::find).orElseThrow(
 				() -> new ObjectNotFoundException("Objeto não encontrado, Tipo: " + Questao.class.getName()));
 	}
 
+	public Questao findOneNotIn(Set<Questao> questoes) throws ObjectNotFoundException {
+		return findIndexed(index.findOneNotIn(SetOfIdsQuestoes(questoes)));
+	}
+
 	public Questao findOneByNivel(int nivel, Set<Questao> questoes) throws ObjectNotFoundException {
-		Optional<Questao> obj = repository.findDistinctFirstByNivelAndIdNotIn(nivel, SetOfIdsQuestoes(questoes));
-		return obj.orElseThrow(
-				() -> new ObjectNotFoundException("Objeto não encontrado, Tipo: " + Questao.class.getName()));
+		return findIndexed(index.findOneByNivel(nivel, SetOfIdsQuestoes(questoes)));
 	}
 
-	public Questao findOneByNivelAndCategoria(int nivel, Set<Categoria> categorias, Set<Questao> questoes) throws ObjectNotFoundException {
-		Optional<Questao> obj = repository.findDistinctFirstByNivelAndCategoriaNotInAndIdNotIn(nivel,
-				categorias, SetOfIdsQuestoes(questoes));
-		return obj.orElseThrow(
-				() -> new ObjectNotFoundException("Objeto não encontrado, Tipo: " + Questao.class.getName()));
+	public int[] generateBaralho(int nivel, Set<Categoria> categorias) {
+		return index.shuffle(nivel, SetOfIdsCategorias(categorias));
+	}
+
+	public int[] generateBaralho(Set<Questao> questoes) {
+		return index.shuffle(SetOfIdsQuestoes(questoes).stream().mapToInt(Integer::intValue).toArray());
 	}
 }
@@ -0,0 +1,109 @@
+package br.com.jogo.services;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import br.com.jogo.services.Leaderboard.Entrada;
+
+/**
+ * Ranking de uma janela móvel de tempo (ex.: últimas 24 horas). Os pontos são
+ * guardados em baldes de duração fixa e somados em um {@link Leaderboard}
+ * agregado; quando um balde sai da janela os pontos dele são subtraídos do
+ * agregado e o balde é descartado.
+ */
+public class RankingJanela {
+
+	private final long duracaoBalde;
+	private final int baldes;
+	private final Clock clock;
+	private final TreeMap<Long, Map<Integer, Integer>> pontosPorBalde = new TreeMap<>();
+	private final Leaderboard agregado = new Leaderboard();
+
+	public RankingJanela(Duration duracaoBalde, int baldes, Clock clock) {
+		this.duracaoBalde = duracaoBalde.getSeconds();
+		this.baldes = baldes;
+		this.clock = clock;
+	}
+
+	public Instant inicio() {
+		return Instant.ofEpochSecond((baldeAtual() - baldes + 1) * duracaoBalde);
+	}
+
+	public synchronized void rebuild(List<Object[]> rows) {
+		pontosPorBalde.clear();
+		agregado.rebuild(List.of());
+		for (Object[] row : rows) {
+			add((Integer) row[0], (String) row[1], (Instant) row[2], ((Number) row[3]).intValue());
+		}
+	}
+
+	public synchronized void add(Integer jogadorId, String nomeUsuario, Instant momento, int pontos) {
+		compact();
+		long balde = Math.floorDiv(momento.getEpochSecond(), duracaoBalde);
+		if (pontos == 0 || balde <= baldeAtual() - baldes) {
+			return;
+		}
+		pontosPorBalde.computeIfAbsent(balde, k -> new HashMap<>()).merge(jogadorId, pontos, Integer::sum);
+		if (agregado.find(jogadorId) != null) {
+			agregado.add(jogadorId, pontos);
+		} else {
+			agregado.put(jogadorId, nomeUsuario, pontos);
+		}
+	}
+
+	public synchronized void rename(Integer jogadorId, String nomeUsuario) {
+		Entrada e = agregado.find(jogadorId);
+		if (e != null) {
+			agregado.put(jogadorId, nomeUsuario, e.getPontuacao());
+		}
+	}
+
+	public synchronized void remove(Integer jogadorId) {
+		agregado.remove(jogadorId);
+		pontosPorBalde.values().forEach(m -> m.remove(jogadorId));
+	}
+
+	public synchronized List<Entrada> top(int quantidade) {
+		compact();
+		return agregado.top(quantidade);
+	}
+
+	public synchronized List<Entrada> range(int inicio, int quantidade) {
+		compact();
+		return agregado.range(inicio, quantidade);
+	}
+
+	public synchronized int rankOf(Integer jogadorId) {
+		compact();
+		return agregado.rankOf(jogadorId);
+	}
+
+	public synchronized void compact() {
+		long limite = baldeAtual() - baldes;
+		Iterator<Map.Entry<Long, Map<Integer, Integer>>> it = pontosPorBalde.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Long, Map<Integer, Integer>> balde = it.next();
+			if (balde.getKey() > limite) {
+				break;
+			}
+			for (Map.Entry<Integer, Integer> e : balde.getValue().entrySet()) {
+				agregado.add(e.getKey(), -e.getValue());
+				Entrada restante = agregado.find(e.getKey());
+				if (restante != null && restante.getPontuacao() <= 0) {
+					agregado.remove(e.getKey());
+				}
+			}
+			it.remove();
+		}
+	}
+
+	private long baldeAtual() {
+		return Math.floorDiv(clock.instant().getEpochSecond(), duracaoBalde);
+	}
+}
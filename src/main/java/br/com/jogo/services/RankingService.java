@@ -0,0 +1,200 @@
+package br.com.jogo.services;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import br.com.jogo.domain.Jogador;
+import br.com.jogo.domain.RegistroPartida;
+import br.com.jogo.domain.enums.Janela;
+import br.com.jogo.repositories.JogadorRepository;
+import br.com.jogo.repositories.RegistroPartidaRepository;
+import br.com.jogo.services.Leaderboard.Entrada;
+import br.com.jogo.services.Leaderboard.Vizinhanca;
+import br.com.jogo.services.exceptions.FileException;
+import br.com.jogo.services.exceptions.ObjectNotFoundException;
+
+// o diário do acumulador precisa ser reaplicado antes da carga do ranking
+@Service
+@DependsOn("jogadorAcumulador")
+public class RankingService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RankingService.class);
+
+	@Autowired
+	private JogadorRepository repository;
+	@Autowired
+	private RegistroPartidaRepository registroPartidaRepository;
+	@Autowired
+	private JogadorAcumulador acumulador;
+
+	@Value("${jogo.ranking.snapshot:ranking.snapshot}")
+	private String arquivoSnapshot;
+
+	private final Leaderboard leaderboard = new Leaderboard();
+	private final PontuacaoHistograma histograma = new PontuacaoHistograma();
+	private final RankingJanela diario = new RankingJanela(Duration.ofHours(1), 24, Clock.systemUTC());
+	private final RankingJanela semanal = new RankingJanela(Duration.ofDays(1), 7, Clock.systemUTC());
+	private LeaderboardSnapshot snapshot;
+	// ordena as mudanças do ranking geral com os registros da cauda da fotografia
+	private final Object persistencia = new Object();
+
+	/**
+	 * O ranking geral vem da última fotografia mais a cauda de mudanças; a
+	 * tabela de jogadores só é lida se não houver fotografia válida. A
+	 * fotografia é conferida pelos CRCs dela e pela sequência do acumulador, que
+	 * já reaplicou o diário dele.
+	 */
+	@PostConstruct
+	public void load() {
+		LOG.info("Fotografia do ranking em {}", Paths.get(arquivoSnapshot).toAbsolutePath());
+		snapshot = new LeaderboardSnapshot(arquivoSnapshot);
+		List<Object[]> jogadores = snapshot.restore(acumulador.sequenciaAplicada());
+		if (jogadores == null) {
+			LOG.info("Fotografia do ranking ausente ou inválida, carregando a partir do banco");
+			jogadores = repository.findAllRankingData();
+		}
+		leaderboard.rebuild(jogadores);
+		histograma.clear();
+		jogadores.forEach(x -> histograma.add(((Number) x[2]).intValue()));
+		LocalDateTime desde = LocalDateTime.ofInstant(semanal.inicio(), ZoneId.systemDefault());
+		List<Object[]> rows = registroPartidaRepository.findPontuacaoDesde(desde).stream()
+				.map(x -> new Object[] { x[0], x[1], toInstant((LocalDateTime) x[2]), x[3] }).toList();
+		diario.rebuild(rows);
+		semanal.rebuild(rows);
+		saveSnapshot();
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		saveSnapshot();
+		snapshot.close();
+	}
+
+	@Scheduled(fixedDelayString = "${jogo.ranking.snapshot-intervalo:60000}")
+	public synchronized void saveSnapshot() {
+		List<Entrada> entradas;
+		synchronized (persistencia) {
+			entradas = leaderboard.top(Integer.MAX_VALUE);
+			snapshot.rotate();
+		}
+		snapshot.write(entradas, acumulador.sequenciaAplicada());
+	}
+
+	@Scheduled(fixedDelayString = "${jogo.ranking.compactacao:60000}")
+	public void compact() {
+		diario.compact();
+		semanal.compact();
+	}
+
+	public List<Entrada> top(int quantidade, Janela janela) {
+		return switch (janela) {
+		case DIARIA -> diario.top(quantidade);
+		case SEMANAL -> semanal.top(quantidade);
+		default -> leaderboard.top(quantidade);
+		};
+	}
+
+	public double topPercentual(int pontuacao) {
+		return histograma.topPercentual(pontuacao);
+	}
+
+	public int rankOf(Integer jogadorId) {
+		return leaderboard.rankOf(jogadorId);
+	}
+
+	public Vizinhanca around(Integer jogadorId, int raio) throws ObjectNotFoundException {
+		Vizinhanca obj = leaderboard.around(jogadorId, raio);
+		if (obj == null) {
+			throw new ObjectNotFoundException(
+					"Objeto não encontrado, Id: " + jogadorId + ", Tipo: " + Jogador.class.getName());
+		}
+		return obj;
+	}
+
+	// os pontos contam para as janelas pelo momento de início da partida, como na recarga
+	public void addPontuacao(RegistroPartida rp, int pontos) {
+		Integer id = rp.getJogador().getId();
+		String nomeUsuario = rp.getJogador().getNomeUsuario();
+		Instant momento = toInstant(rp.getMomento());
+		AfterCommit.run(() -> {
+			Entrada nova;
+			synchronized (persistencia) {
+				nova = leaderboard.add(id, pontos);
+				if (nova != null) {
+					record(() -> snapshot.put(nova));
+				}
+			}
+			if (nova != null) {
+				histograma.move(nova.getPontuacao() - pontos, nova.getPontuacao());
+			}
+			diario.add(id, nomeUsuario, momento, pontos);
+			semanal.add(id, nomeUsuario, momento, pontos);
+		});
+	}
+
+	public void put(Jogador obj) {
+		Integer id = obj.getId();
+		String nomeUsuario = obj.getNomeUsuario();
+		int pontuacao = obj.getPontuacaoTotal();
+		AfterCommit.run(() -> {
+			Entrada antiga;
+			synchronized (persistencia) {
+				antiga = leaderboard.put(id, nomeUsuario, pontuacao);
+				record(() -> snapshot.put(new Entrada(id, nomeUsuario, pontuacao)));
+			}
+			if (antiga != null) {
+				histograma.move(antiga.getPontuacao(), pontuacao);
+			} else {
+				histograma.add(pontuacao);
+			}
+			diario.rename(id, nomeUsuario);
+			semanal.rename(id, nomeUsuario);
+		});
+	}
+
+	public void remove(Integer jogadorId) {
+		AfterCommit.run(() -> {
+			Entrada antiga;
+			synchronized (persistencia) {
+				antiga = leaderboard.remove(jogadorId);
+				record(() -> snapshot.remove(jogadorId));
+			}
+			if (antiga != null) {
+				histograma.remove(antiga.getPontuacao());
+			}
+			diario.remove(jogadorId);
+			semanal.remove(jogadorId);
+		});
+	}
+
+	// sem a cauda a fotografia ficaria para trás, então ela é descartada e a próxima carga vai ao banco
+	private void record(Runnable registro) {
+		try {
+			registro.run();
+		} catch (FileException e) {
+			LOG.error("Falha ao gravar a cauda do ranking, fotografia descartada", e);
+			snapshot.invalidate();
+		}
+	}
+
+	private static Instant toInstant(LocalDateTime momento) {
+		return momento.atZone(ZoneId.systemDefault()).toInstant();
+	}
+}
@@ -2,16 +2,20 @@ package br.com.jogo.services;
 
 import java.util.List;
 import java.util.Optional;
-
-import javax.transaction.Transactional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import br.com.jogo.domain.ConfiguracaoPartida;
 import br.com.jogo.domain.Jogador;
 import br.com.jogo.domain.RegistroPartida;
+import br.com.jogo.dto.RankingPartidaDTO;
+import br.com.jogo.dto.RegistroPartidaDTO;
+import br.com.jogo.dto.RegistroPartidaExportDTO;
 import br.com.jogo.repositories.RegistroPartidaRepository;
 import br.com.jogo.services.exceptions.DataIntegrityException;
 import br.com.jogo.services.exceptions.ObjectNotFoundException;
@@ -44,8 +48,9 @@ public class RegistroPartidaService {
 		aux.setAtiva(obj.isAtiva());
 		aux.setConfiguracaoPartida(obj.getConfiguracaoPartida());
 		aux.setPontuacao(obj.getPontuacao());
-		aux.setQuestoesRespondidas(obj.getQuestoesRepondias());
+		aux.setQuestoesRespondidas(obj.getQuestoesRespondidas());
 		aux.setUltimaQuestao(obj.getUltimaQuestao());
+		aux.setPosicaoBaralho(obj.getPosicaoBaralho());
 		aux.setJogador(obj.getJogador());
 	}
 
@@ -63,15 +68,39 @@ public class RegistroPartidaService {
 		return repository.findAll();
 	}
 
+	@Transactional(readOnly = true)
+	public List<RegistroPartidaDTO> findAll(Integer id, int quantidade) {
+		return repository.findAllAfter(id, PageRequest.of(0, quantidade));
+	}
+
+	/**
+	 * Percorre todas as partidas lendo uma linha por vez do banco. O cursor só
+	 * vale dentro da transação, então quem consome deve escrever a saída aqui
+	 * dentro.
+	 */
+	@Transactional(readOnly = true)
+	public void export(Consumer<RegistroPartidaExportDTO> consumer) {
+		try (Stream<RegistroPartidaExportDTO> stream = repository.streamAll()) {
+			stream.forEach(consumer);
+		}
+	}
+
 	public List<RegistroPartida> findActiveByJogador(Jogador obj) {
 		return repository.findByAtivaTrueAndJogador(obj);
 	}
-	
-	public List<RegistroPartida>rank(){
-		return repository.findAllByOrderByPontuacaoDesc();
+
+	@Transactional(readOnly = true)
+	public List<RankingPartidaDTO> rank(Integer pontuacao, Integer id, int quantidade) {
+		if (id == null) {
+			return repository.findRanking(PageRequest.of(0, quantidade));
+		}
+		return repository.findRankingAfter(pontuacao, id, PageRequest.of(0, quantidade));
 	}
-	
-	public List<RegistroPartida> rankByConfiguracaoPartida(ConfiguracaoPartida obj) {
-		return repository.findByConfiguracaoPartidaOrderByPontuacaoDesc(obj);
+
+	public List<RegistroPartidaDTO> findByJogador(Integer jogadorId, Integer id, int quantidade) {
+		if (id == null) {
+			return repository.findByJogador(jogadorId, PageRequest.of(0, quantidade));
+		}
+		return repository.findByJogadorAfter(jogadorId, id, PageRequest.of(0, quantidade));
 	}
 }
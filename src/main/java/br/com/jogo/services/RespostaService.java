@@ -0,0 +1,155 @@
+package br.com.jogo.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.jogo.domain.Alternativa;
+import br.com.jogo.domain.ConfiguracaoPartida;
+import br.com.jogo.domain.Questao;
+import br.com.jogo.domain.RegistroPartida;
+import br.com.jogo.domain.ResultadoResposta;
+import br.com.jogo.domain.enums.Veredito;
+import br.com.jogo.repositories.RegistroPartidaRepository;
+import br.com.jogo.security.exceptions.AuthorizationException;
+import br.com.jogo.services.exceptions.ActivationException;
+import br.com.jogo.services.exceptions.ObjectNotFoundException;
+
+/**
+ * Aplica a resposta de uma partida em uma única transação: a partida, o jogador
+ * e a configuração vêm em uma só consulta e as alterações são gravadas pelo
+ * dirty checking no commit.
+ */
+@Service
+public class RespostaService {
+
+	@Autowired
+	private RegistroPartidaRepository repository;
+	@Autowired
+	private QuestaoService questaoService;
+	@Autowired
+	private AlternativaIndex alternativaIndex;
+	@Autowired
+	private JogadorAcumulador acumulador;
+	@Autowired
+	private RankingService rankingService;
+	@Autowired
+	private MelhorPontuacaoService melhorPontuacaoService;
+
+	@Transactional
+	public ResultadoResposta answer(Integer registroPartidaId, Integer jogadorId, Integer alternativaId)
+			throws AuthorizationException, ObjectNotFoundException, ActivationException {
+		RegistroPartida rp = findForResposta(registroPartidaId, jogadorId);
+		return apply(rp, alternativaId, true);
+	}
+
+	/**
+	 * Aplica as respostas em ordem até a partida terminar; as que sobrarem são
+	 * ignoradas. O lote é tudo ou nada: ids inexistentes são recusados antes de
+	 * qualquer resposta e uma alternativa de outra questão no meio do lote
+	 * desfaz as anteriores junto com a transação.
+	 */
+	@Transactional
+	public List<ResultadoResposta> answerAll(Integer registroPartidaId, Integer jogadorId,
+			List<Integer> alternativasIds) throws AuthorizationException, ObjectNotFoundException, ActivationException {
+		for (Integer alternativaId : alternativasIds) {
+			lookup(alternativaId);
+		}
+		RegistroPartida rp = findForResposta(registroPartidaId, jogadorId);
+		List<ResultadoResposta> list = new ArrayList<>();
+		for (int i = 0; i < alternativasIds.size() && rp.isAtiva(); i++) {
+			list.add(apply(rp, alternativasIds.get(i), i == alternativasIds.size() - 1));
+		}
+		return list;
+	}
+
+	private RegistroPartida findForResposta(Integer registroPartidaId, Integer jogadorId) {
+		RegistroPartida rp = repository.findForResposta(registroPartidaId)
+				.orElseThrow(() -> new ObjectNotFoundException("Objeto não encontrado, Id: " + registroPartidaId
+						+ ", Tipo: " + RegistroPartida.class.getName()));
+		if (!rp.getJogador().getId().equals(jogadorId)) {
+			throw new AuthorizationException("Apenas o jogador da partida pode responder!");
+		}
+		if (!rp.isAtiva()) {
+			throw new ActivationException("A partida está inativa!");
+		}
+		return rp;
+	}
+
+	// comProxima: inicializa e devolve a próxima questão no resultado
+	private ResultadoResposta apply(RegistroPartida rp, Integer alternativaId, boolean comProxima) {
+		int resposta = lookup(alternativaId);
+		Questao q = rp.getUltimaQuestao();
+		if (!q.getId().equals(AlternativaIndex.questaoId(resposta))) {
+			throw new ObjectNotFoundException("A alternativa não pertece a uma questao da partida!");
+		}
+		if (!AlternativaIndex.isCorreta(resposta)) {
+			acumulador.add(rp.getJogador().getId(), 0, 0, 1);
+			endPartida(rp);
+			return new ResultadoResposta(Veredito.INCORRETA, rp.getPontuacao(), null, q.getCorrectAlternative());
+		}
+		correctAnswer(rp, q);
+		if (rp.getUltimaQuestao() == null) {
+			return new ResultadoResposta(Veredito.VITORIA, rp.getPontuacao(), null, null);
+		}
+		if (comProxima) {
+			Hibernate.initialize(rp.getUltimaQuestao());
+			return new ResultadoResposta(Veredito.CORRETA, rp.getPontuacao(), rp.getUltimaQuestao(), null);
+		}
+		return new ResultadoResposta(Veredito.CORRETA, rp.getPontuacao(), null, null);
+	}
+
+	public Questao nextQuestion(RegistroPartida obj) {
+		ConfiguracaoPartida cp = obj.getConfiguracaoPartida();
+		int posicao = obj.getPosicaoBaralho();
+		Integer nextId;
+		do {
+			nextId = cp.questaoDoBaralho(++posicao);
+		} while (nextId != null && !questaoService.isAvailable(nextId));
+		obj.setPosicaoBaralho(posicao);
+		return nextId == null ? null : questaoService.getReference(nextId);
+	}
+
+	private int lookup(Integer alternativaId) {
+		int resposta = alternativaId == null ? 0 : alternativaIndex.lookup(alternativaId);
+		if (resposta == 0) {
+			throw new ObjectNotFoundException(
+					"Objeto não encontrado, Id: " + alternativaId + ", Tipo: " + Alternativa.class.getName());
+		}
+		return resposta;
+	}
+
+	private void correctAnswer(RegistroPartida rp, Questao q) {
+		rp.addPontuacao(q.getNivel());
+		rp.addQuestaoRespondida(q.getId());
+		Questao nextQ = nextQuestion(rp);
+		acumulador.add(rp.getJogador().getId(), q.getNivel(), q.getNivel(), nextQ == null ? 1 : 0);
+		rankingService.addPontuacao(rp, q.getNivel());
+		if (nextQ == null) {
+			endPartida(rp);
+		} else {
+			if (!rp.getConfiguracaoPartida().isPredefinida()) {
+				rp.getConfiguracaoPartida().addQuestao(nextQ);
+			}
+		}
+		rp.setUltimaQuestao(nextQ);
+	}
+
+	private void endPartida(RegistroPartida rp) {
+		rp.setAtiva(false);
+		presetConfiguracaoPartida(rp);
+		melhorPontuacaoService.register(rp);
+	}
+
+	private void presetConfiguracaoPartida(RegistroPartida rp) {
+		ConfiguracaoPartida cp = rp.getConfiguracaoPartida();
+		if (!cp.isPredefinida()) {
+			cp.truncateBaralho(rp.getPosicaoBaralho() + 1);
+			cp.toPreseted();
+		}
+	}
+}
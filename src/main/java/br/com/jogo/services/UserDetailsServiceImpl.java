@@ -6,19 +6,20 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import br.com.jogo.domain.Usuario;
-import br.com.jogo.repositories.UsuarioRepository;
+import br.com.jogo.domain.Credencial;
+import br.com.jogo.repositories.CredencialRepository;
 import br.com.jogo.security.UserSS;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
 	@Autowired
-	private UsuarioRepository repo;
+	private CredencialRepository repo;
 	
 	@Override
 	public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-		Usuario user = repo.findByEmail(email).orElseThrow(()->new UsernameNotFoundException(email));
-		return new UserSS(user.getId(), user.getEmail(), user.getSenha(), user.getRole());
+		Credencial user = repo.findByEmail(email).orElseThrow(()->new UsernameNotFoundException(email));
+		return new UserSS(user.getUsuarioId(), user.getEmail(), user.getSenha(), user.getRole(),
+				user.getVersaoToken());
 	}
 }
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 
 import br.com.jogo.domain.Jogador;
 import br.com.jogo.domain.Usuario;
+import br.com.jogo.repositories.JogadorRepository;
 import br.com.jogo.repositories.UsuarioRepository;
 import br.com.jogo.services.exceptions.ObjectNotFoundException;
 
@@ -14,6 +15,10 @@ import br.com.jogo.services.exceptions.ObjectNotFoundException;
 public class UsuarioService {
 	@Autowired
 	private UsuarioRepository repository;
+	@Autowired
+	private JogadorRepository jogadorRepository;
+	@Autowired
+	private CredencialService credencialService;
 
 	public Usuario findByEmail(String email) throws ObjectNotFoundException{
 		Optional<Usuario> obj = repository.findByEmail(email);
@@ -30,15 +35,14 @@ public class UsuarioService {
 	public void updatePassword(Usuario obj, String password) throws ObjectNotFoundException {
 		obj = find(obj.getId());
 		obj.setSenha(password);
-		repository.save(obj);
+		credencialService.register(repository.save(obj));
 	}
 
-	public void registerAccess(String email) throws ObjectNotFoundException {
-		Usuario obj = findByEmail(email);
-		if (obj instanceof Jogador) {
-			((Jogador) obj).registerAccess();
-			repository.save(obj);
-		}
-		repository.save(obj);
+	public void registerAccess(Integer jogadorId) throws ObjectNotFoundException {
+		Optional<Jogador> obj = jogadorRepository.findById(jogadorId);
+		Jogador jogador = obj.orElseThrow(() -> new ObjectNotFoundException(
+				"Objeto não encontrado, Id: " + jogadorId + ", Tipo: " + Jogador.class.getName()));
+		jogador.registerAccess();
+		jogadorRepository.save(jogador);
 	}
 }
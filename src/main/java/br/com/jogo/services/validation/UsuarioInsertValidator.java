@@ -8,8 +8,10 @@ import javax.validation.ConstraintValidatorContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import br.com.jogo.domain.Credencial;
 import br.com.jogo.domain.Usuario;
 import br.com.jogo.dto.UsuarioNewDTO;
+import br.com.jogo.repositories.CredencialRepository;
 import br.com.jogo.repositories.UsuarioRepository;
 import br.com.jogo.resources.exception.FieldMessage;
 
@@ -17,6 +19,8 @@ public class UsuarioInsertValidator implements ConstraintValidator<UsuarioInsert
 
 	@Autowired
 	private UsuarioRepository repo;
+	@Autowired
+	private CredencialRepository credencialRepo;
 
 	@Override
 	public void initialize(UsuarioInsert ann) {
@@ -26,11 +30,11 @@ public class UsuarioInsertValidator implements ConstraintValidator<UsuarioInsert
 	public boolean isValid(UsuarioNewDTO objDto, ConstraintValidatorContext context) {
 		List<FieldMessage> list = new ArrayList<>();
 
-		Usuario aux = repo.findByEmail(objDto.getEmail()).orElse(null);
-		if (aux != null) {
+		Credencial credencial = credencialRepo.findByEmail(objDto.getEmail()).orElse(null);
+		if (credencial != null) {
 			list.add(new FieldMessage("email", "Email já existente no sistema!"));
 		}
-		aux = repo.findByNomeUsuario(objDto.getNomeUsuario()).orElse(null);
+		Usuario aux = repo.findByNomeUsuario(objDto.getNomeUsuario()).orElse(null);
 		if (aux != null) {
 			list.add(new FieldMessage("nomeUsuario", "Nome de usuário já existente no sistema!"));
 		}
@@ -11,8 +11,10 @@ import javax.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.servlet.HandlerMapping;
 
+import br.com.jogo.domain.Credencial;
 import br.com.jogo.domain.Usuario;
 import br.com.jogo.dto.UsuarioDTO;
+import br.com.jogo.repositories.CredencialRepository;
 import br.com.jogo.repositories.UsuarioRepository;
 import br.com.jogo.resources.exception.FieldMessage;
 
@@ -22,6 +24,8 @@ public class UsuarioUpdateValidator implements ConstraintValidator<UsuarioUpdate
 	private HttpServletRequest request;
 	@Autowired
 	private UsuarioRepository repo;
+	@Autowired
+	private CredencialRepository credencialRepo;
 
 	@Override
 	public void initialize(UsuarioUpdate ann) {
@@ -35,12 +39,12 @@ public class UsuarioUpdateValidator implements ConstraintValidator<UsuarioUpdate
 		Integer uriId = Integer.parseInt(map.get("id"));
 		List<FieldMessage> list = new ArrayList<>();
 
-		Usuario aux = repo.findByEmail(objDto.getEmail()).orElse(null);
-		if (aux != null && aux.getId() != uriId) {
+		Credencial credencial = credencialRepo.findByEmail(objDto.getEmail()).orElse(null);
+		if (credencial != null && !credencial.getUsuarioId().equals(uriId)) {
 			list.add(new FieldMessage("email", "Email já existente no sistema!"));
 		}
 
-		aux = repo.findByNomeUsuario(objDto.getNomeUsuario()).orElse(null);
+		Usuario aux = repo.findByNomeUsuario(objDto.getNomeUsuario()).orElse(null);
 		if (aux != null && aux.getId() != uriId) {
 			list.add(new FieldMessage("nomeUsuario", "Nome de usuário já existente no sistema!"));
 		}
@@ -0,0 +1,18 @@
+package br.com.idgeracao;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+
+/**
+ * O mapeamento de ids que Categoria tinha antes, usado só pelo
+ * IdGeracaoBenchmarkTests. Fica fora de br.com.jogo para não entrar na
+ * varredura de entidades dos outros testes.
+ */
+@Entity
+public class CategoriaIdentity {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	Integer id;
+}
@@ -0,0 +1,14 @@
+package br.com.idgeracao;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+
+/** O mapeamento de ids que Usuario tinha antes, usado só pelo IdGeracaoBenchmarkTests. */
+@Entity
+public class UsuarioTable {
+	@Id
+	@GeneratedValue(strategy = GenerationType.TABLE)
+	Integer id;
+}
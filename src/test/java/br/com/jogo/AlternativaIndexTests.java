@@ -0,0 +1,43 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.jogo.services.AlternativaIndex;
+
+public class AlternativaIndexTests {
+
+	@Test
+	void lookupTest() {
+		AlternativaIndex index = new AlternativaIndex();
+		index.rebuild(List.of(new Object[] { 1, 7, true }, new Object[] { 2, 7, false }));
+		assertEquals(7, AlternativaIndex.questaoId(index.lookup(1)));
+		assertTrue(AlternativaIndex.isCorreta(index.lookup(1)));
+		assertFalse(AlternativaIndex.isCorreta(index.lookup(2)));
+		assertEquals(0, index.lookup(3));
+	}
+
+	@Test
+	void removeAndGrowTest() {
+		AlternativaIndex index = new AlternativaIndex();
+		List<Object[]> rows = new ArrayList<>();
+		IntStream.rangeClosed(1, 5000).forEach(i -> rows.add(new Object[] { i, i / 4 + 1, i % 4 == 0 }));
+		index.rebuild(rows);
+		index.remove(IntStream.rangeClosed(1, 5000).filter(i -> i % 3 == 0).boxed().toList());
+		for (int i = 1; i <= 5000; i++) {
+			if (i % 3 == 0) {
+				assertEquals(0, index.lookup(i));
+			} else {
+				assertEquals(i / 4 + 1, AlternativaIndex.questaoId(index.lookup(i)));
+				assertEquals(i % 4 == 0, AlternativaIndex.isCorreta(index.lookup(i)));
+			}
+		}
+	}
+}
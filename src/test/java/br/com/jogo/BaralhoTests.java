@@ -0,0 +1,121 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.jogo.domain.ConfiguracaoPartida;
+import br.com.jogo.domain.Questao;
+import br.com.jogo.domain.RegistroPartida;
+import br.com.jogo.services.QuestaoIndex;
+import br.com.jogo.services.QuestaoService;
+import br.com.jogo.services.RespostaService;
+
+public class BaralhoTests {
+
+	QuestaoIndex index;
+	RespostaService respostaService;
+
+	@BeforeEach
+	void setUp() {
+		index = new QuestaoIndex(new Random(42));
+		index.put(1, 1, 10);
+		index.put(2, 2, 10);
+		index.put(3, 1, 20);
+		index.put(4, 1, 20);
+		index.put(5, 2, 30);
+		// só o que o cursor precisa: disponibilidade pelo índice e referência sem consulta
+		QuestaoService questaoService = new QuestaoService() {
+			@Override
+			public boolean isAvailable(Integer id) {
+				return index.contains(id);
+			}
+
+			@Override
+			public Questao getReference(Integer id) {
+				return new Questao(id, null, 0, null, null);
+			}
+		};
+		respostaService = new RespostaService();
+		ReflectionTestUtils.setField(respostaService, "questaoService", questaoService);
+	}
+
+	@Test
+	void dealTest() {
+		int[] baralho = index.shuffle(1, Set.of());
+		assertArrayEquals(new int[] { 1, 3, 4 }, Arrays.stream(baralho).sorted().toArray());
+		assertArrayEquals(new int[] { 3, 4 }, Arrays.stream(index.shuffle(1, Set.of(20))).sorted().toArray());
+		assertEquals(0, index.shuffle(3, Set.of()).length);
+
+		ConfiguracaoPartida cp = new ConfiguracaoPartida();
+		assertEquals(0, cp.tamanhoBaralho());
+		assertNull(cp.questaoDoBaralho(0));
+		cp.setBaralho(baralho);
+		assertEquals(3, cp.tamanhoBaralho());
+		for (int i = 0; i < baralho.length; i++) {
+			assertEquals(baralho[i], cp.questaoDoBaralho(i));
+		}
+		assertNull(cp.questaoDoBaralho(-1));
+		assertNull(cp.questaoDoBaralho(3));
+
+		cp.truncateBaralho(2);
+		assertEquals(2, cp.tamanhoBaralho());
+		assertEquals(baralho[1], cp.questaoDoBaralho(1));
+		cp.truncateBaralho(5);
+		assertEquals(2, cp.tamanhoBaralho());
+	}
+
+	@Test
+	void nextQuestionTest() {
+		RegistroPartida rp = partida(new int[] { 5, 2, 4, 1 });
+		assertEquals(List.of(5, 2, 4, 1), drain(rp));
+		// baralho esgotado: o cursor para depois da última carta e continua sem questão
+		assertEquals(4, rp.getPosicaoBaralho());
+		assertNull(respostaService.nextQuestion(rp));
+		assertEquals(5, rp.getPosicaoBaralho());
+	}
+
+	@Test
+	void nextQuestionSkipsRemovedTest() {
+		RegistroPartida rp = partida(new int[] { 5, 2, 4, 1 });
+		assertEquals(5, respostaService.nextQuestion(rp).getId());
+		index.remove(2);
+		index.remove(1);
+		assertEquals(4, respostaService.nextQuestion(rp).getId());
+		assertEquals(2, rp.getPosicaoBaralho());
+		assertNull(respostaService.nextQuestion(rp));
+	}
+
+	@Test
+	void emptyDeckTest() {
+		RegistroPartida rp = partida(new int[0]);
+		assertNull(respostaService.nextQuestion(rp));
+	}
+
+	RegistroPartida partida(int[] baralho) {
+		ConfiguracaoPartida cp = new ConfiguracaoPartida();
+		cp.setBaralho(baralho);
+		RegistroPartida rp = new RegistroPartida(cp, null);
+		rp.setPosicaoBaralho(-1);
+		return rp;
+	}
+
+	List<Integer> drain(RegistroPartida rp) {
+		List<Integer> ids = new ArrayList<>();
+		Questao q;
+		while ((q = respostaService.nextQuestion(rp)) != null) {
+			ids.add(q.getId());
+		}
+		return ids;
+	}
+}
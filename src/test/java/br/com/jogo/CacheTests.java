@@ -0,0 +1,109 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.jogo.config.JpaConfig;
+import br.com.jogo.config.StatementCounter;
+import br.com.jogo.domain.Alternativa;
+import br.com.jogo.domain.Categoria;
+import br.com.jogo.domain.Item;
+import br.com.jogo.domain.Questao;
+import br.com.jogo.dto.CacheRegiaoDTO;
+import br.com.jogo.services.CacheService;
+
+@DataJpaTest
+@Import({ JpaConfig.class, CacheService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CacheTests {
+
+	@PersistenceContext
+	EntityManager em;
+	@Autowired
+	EntityManagerFactory emf;
+	@Autowired
+	TransactionTemplate transactionTemplate;
+	@Autowired
+	CacheService cacheService;
+
+	@BeforeEach
+	void clear() {
+		emf.getCache().evictAll();
+	}
+
+	@Test
+	void questaoTest() {
+		Questao obj = insertQuestao();
+		List<Integer> alternativasIds = obj.getAlternativas().stream().map(Alternativa::getId).toList();
+
+		countFind(obj.getId());
+		assertEquals(0, countFind(obj.getId()));
+
+		cacheService.evictQuestao(obj.getId(), alternativasIds);
+		Cache cache = emf.unwrap(SessionFactory.class).getCache();
+		assertFalse(cache.containsEntity(Questao.class, obj.getId()));
+		assertFalse(cache.containsCollection(Questao.class.getName() + ".alternativas", obj.getId()));
+		alternativasIds.forEach(x -> assertFalse(cache.containsEntity(Alternativa.class, x)));
+		// a categoria não foi tocada e continua no cache
+		assertTrue(cache.containsEntity(Categoria.class, obj.getCategoria().getId()));
+
+		long falhas = region(Questao.class.getName()).getFalhas();
+		assertTrue(countFind(obj.getId()) > 0);
+		assertEquals(falhas + 1, region(Questao.class.getName()).getFalhas());
+		assertEquals(0, countFind(obj.getId()));
+		assertTrue(region(Questao.class.getName()).getAcertos() >= 2);
+	}
+
+	@Test
+	void itemTest() {
+		Item obj = new Item("item", "funcao", 1, 10, 0);
+		transactionTemplate.executeWithoutResult(s -> em.persist(obj));
+		assertTrue(emf.getCache().contains(Item.class, obj.getId()));
+		cacheService.evictItem(obj.getId());
+		assertFalse(emf.getCache().contains(Item.class, obj.getId()));
+	}
+
+	Questao insertQuestao() {
+		Set<Alternativa> alternativas = Set.of(new Alternativa("a", true), new Alternativa("b", false),
+				new Alternativa("c", false), new Alternativa("d", false));
+		Questao obj = new Questao("questão", 1, new Categoria("categoria"), new HashSet<>(alternativas));
+		transactionTemplate.executeWithoutResult(s -> em.persist(obj));
+		return obj;
+	}
+
+	int countFind(Integer id) {
+		return transactionTemplate.execute(s -> {
+			StatementCounter.start();
+			Questao obj = em.find(Questao.class, id);
+			assertEquals(4, obj.getAlternativas().size());
+			obj.getCategoria().getNome();
+			int count = StatementCounter.stop();
+			em.clear();
+			return count;
+		});
+	}
+
+	CacheRegiaoDTO region(String regiao) {
+		return cacheService.statistics().stream().filter(x -> x.getRegiao().equals(regiao)).findFirst().get();
+	}
+}
@@ -0,0 +1,84 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import br.com.jogo.config.JpaConfig;
+import br.com.jogo.config.StatementCounter;
+import br.com.jogo.domain.Admin;
+import br.com.jogo.domain.Credencial;
+import br.com.jogo.domain.Jogador;
+import br.com.jogo.domain.enums.Role;
+import br.com.jogo.repositories.CredencialRepository;
+import br.com.jogo.security.UserSS;
+import br.com.jogo.services.CredencialService;
+import br.com.jogo.services.UserDetailsServiceImpl;
+
+@DataJpaTest
+@Import({ JpaConfig.class, CredencialService.class, UserDetailsServiceImpl.class })
+public class CredencialTests {
+
+	@Autowired
+	TestEntityManager em;
+	@Autowired
+	CredencialService credencialService;
+	@Autowired
+	CredencialRepository credencialRepository;
+	@Autowired
+	UserDetailsServiceImpl userDetailsService;
+
+	@Test
+	void loadUserByUsernameTest() {
+		// só a credencial existe: a autenticação não pode depender das tabelas de usuário
+		em.persistAndFlush(new Credencial(7, "jogador@jogo.com", Role.JOGADOR.getCod(), "hash"));
+		em.clear();
+		StatementCounter.start();
+		UserSS user = (UserSS) userDetailsService.loadUserByUsername("jogador@jogo.com");
+		assertEquals(1, StatementCounter.stop());
+		assertEquals(7, user.getId());
+		assertEquals("hash", user.getPassword());
+		assertEquals(0, user.getVersaoToken());
+		assertTrue(user.hasRole(Role.JOGADOR));
+		assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("outro@jogo.com"));
+	}
+
+	@Test
+	void registerTest() {
+		Jogador obj = em.persistAndFlush(new Jogador("jogador", "jogador", "jogador@jogo.com", "hash"));
+		credencialService.register(obj);
+		obj.setNome("outro nome");
+		credencialService.register(obj);
+		assertEquals(0, credencialService.findByEmail("jogador@jogo.com").getVersaoToken());
+
+		obj.setEmail("novo@jogo.com");
+		obj.setSenha("novo hash");
+		credencialService.register(obj);
+		em.flush();
+		em.clear();
+		Credencial credencial = credencialService.findByEmail("novo@jogo.com");
+		assertEquals(obj.getId(), credencial.getUsuarioId());
+		assertEquals("novo hash", credencial.getSenha());
+		assertEquals(1, credencial.getVersaoToken());
+		assertTrue(credencialRepository.findByEmail("jogador@jogo.com").isEmpty());
+
+		credencialService.delete(obj.getId());
+		assertEquals(0, credencialRepository.count());
+	}
+
+	@Test
+	void backfillTest() {
+		Jogador jogador = em.persist(new Jogador("jogador", "jogador", "jogador@jogo.com", "hash"));
+		Admin admin = em.persistAndFlush(new Admin("admin", "admin", "admin@jogo.com", "hash"));
+		credencialService.backfill();
+		assertEquals(jogador.getId(), credencialService.findByEmail("jogador@jogo.com").getUsuarioId());
+		assertEquals(Role.ADMIN, credencialService.findByEmail("admin@jogo.com").getRole());
+	}
+}
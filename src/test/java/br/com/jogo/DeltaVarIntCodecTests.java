@@ -0,0 +1,91 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.jogo.domain.codec.DeltaVarIntCodec;
+
+public class DeltaVarIntCodecTests {
+
+	static final int[] IDS = { 1, 2, 127, 128, 129, 16_383, 16_384, 2_097_152, Integer.MAX_VALUE - 1,
+			Integer.MAX_VALUE };
+
+	@Test
+	void roundTripTest() {
+		assertArrayEquals(IDS, DeltaVarIntCodec.decode(DeltaVarIntCodec.encode(IDS)));
+		assertEquals(0, DeltaVarIntCodec.encode(null).length);
+		assertEquals(0, DeltaVarIntCodec.encode(new int[0]).length);
+		assertEquals(0, DeltaVarIntCodec.decode(null).length);
+	}
+
+	@Test
+	void unsortedAndDuplicatesTest() {
+		int[] ids = { 300, 5, Integer.MAX_VALUE, 5, 1, 300, 70_000 };
+		assertArrayEquals(new int[] { 1, 5, 300, 70_000, Integer.MAX_VALUE },
+				DeltaVarIntCodec.decode(DeltaVarIntCodec.encode(ids)));
+	}
+
+	@Test
+	void sizeTest() {
+		// ids consecutivos custam um byte; deltas maiores, um byte a cada 7 bits
+		assertEquals(3, DeltaVarIntCodec.encode(new int[] { 10, 11, 12 }).length);
+		assertEquals(2, DeltaVarIntCodec.encode(new int[] { 128 }).length);
+		assertEquals(3, DeltaVarIntCodec.encode(new int[] { 16_384 }).length);
+		assertEquals(5, DeltaVarIntCodec.encode(new int[] { Integer.MAX_VALUE }).length);
+		assertEquals(6, DeltaVarIntCodec.encode(new int[] { 1, Integer.MAX_VALUE }).length);
+	}
+
+	@Test
+	void containsTest() {
+		byte[] data = DeltaVarIntCodec.encode(IDS);
+		for (int id : IDS) {
+			assertTrue(DeltaVarIntCodec.contains(data, id), "id " + id);
+		}
+		for (int id : new int[] { 3, 126, 130, 16_385, Integer.MAX_VALUE - 2 }) {
+			assertFalse(DeltaVarIntCodec.contains(data, id), "id " + id);
+		}
+		assertFalse(DeltaVarIntCodec.contains(null, 1));
+		assertFalse(DeltaVarIntCodec.contains(new byte[0], 1));
+	}
+
+	@Test
+	void differenceTest() {
+		byte[] data = DeltaVarIntCodec.encode(new int[] { 2, 128, Integer.MAX_VALUE });
+		assertArrayEquals(new int[] { 300, 1, 129 },
+				DeltaVarIntCodec.difference(new int[] { 300, 2, 1, Integer.MAX_VALUE, 128, 129 }, data));
+		assertArrayEquals(new int[] { 4, 3 }, DeltaVarIntCodec.difference(new int[] { 4, 3 }, null));
+	}
+
+	@Test
+	void addTest() {
+		byte[] data = null;
+		for (int id : new int[] { 200, 1, Integer.MAX_VALUE, 129, 16_384, 2, 130 }) {
+			data = DeltaVarIntCodec.add(data, id);
+		}
+		assertArrayEquals(new int[] { 1, 2, 129, 130, 200, 16_384, Integer.MAX_VALUE },
+				DeltaVarIntCodec.decode(data));
+		assertSame(data, DeltaVarIntCodec.add(data, 129));
+		assertArrayEquals(DeltaVarIntCodec.encode(DeltaVarIntCodec.decode(data)), data);
+	}
+
+	@Test
+	void addRandomTest() {
+		Random random = new Random(7);
+		int[] ids = new int[500];
+		byte[] data = new byte[0];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = 1 + random.nextInt(i % 2 == 0 ? 1_000 : Integer.MAX_VALUE);
+			data = DeltaVarIntCodec.add(data, ids[i]);
+		}
+		assertArrayEquals(DeltaVarIntCodec.encode(ids), data);
+		assertArrayEquals(Arrays.stream(ids).sorted().distinct().toArray(), DeltaVarIntCodec.decode(data));
+	}
+}
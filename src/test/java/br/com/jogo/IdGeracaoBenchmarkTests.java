@@ -0,0 +1,124 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.idgeracao.CategoriaIdentity;
+import br.com.idgeracao.UsuarioTable;
+import br.com.jogo.config.JpaConfig;
+import br.com.jogo.config.StatementCounter;
+import br.com.jogo.domain.Categoria;
+import br.com.jogo.domain.Jogador;
+
+/**
+ * Compara a geração de ids em blocos (sequência com alocação de 50) com os
+ * mapeamentos antigos: IDENTITY nas inserções em lote e TABLE nos cadastros
+ * concorrentes. Os tempos vão para o log; o que é verificado é a quantidade de
+ * comandos e a unicidade dos ids.
+ */
+@DataJpaTest
+@Import(JpaConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class IdGeracaoBenchmarkTests {
+
+	private static final Logger LOG = LoggerFactory.getLogger(IdGeracaoBenchmarkTests.class);
+
+	// só este contexto inclui as entidades de comparação
+	@TestConfiguration
+	@EntityScan(basePackageClasses = { JogoPooApplication.class, CategoriaIdentity.class })
+	static class Config {
+	}
+
+	@PersistenceContext
+	EntityManager em;
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Test
+	void bulkInsertTest() {
+		int n = 2000;
+		int[] sequencia = bulkInsert("sequência", n, i -> new Categoria("categoria " + i));
+		int[] identity = bulkInsert("identity", n, i -> new CategoriaIdentity());
+		assertEquals(n, identity[0]);
+		assertTrue(sequencia[0] * 10 < identity[0], sequencia[0] + " comandos contra " + identity[0]);
+	}
+
+	@Test
+	void concurrentRegistrationTest() throws Exception {
+		int threads = 8;
+		int porThread = 100;
+		Set<Integer> sequencia = register("sequência", threads, porThread,
+				i -> new Jogador("jogador " + i, "jogador" + i, "jogador" + i + "@jogo.com", "senha"));
+		Set<Integer> tabela = register("table", threads, porThread, i -> new UsuarioTable());
+		assertEquals(threads * porThread, sequencia.size());
+		assertEquals(threads * porThread, tabela.size());
+	}
+
+	int[] bulkInsert(String nome, int n, IntFunction<Object> fabrica) {
+		long inicio = System.nanoTime();
+		int comandos = transactionTemplate.execute(s -> {
+			StatementCounter.start();
+			for (int i = 0; i < n; i++) {
+				em.persist(fabrica.apply(i));
+			}
+			em.flush();
+			return StatementCounter.stop();
+		});
+		long ms = Math.max((System.nanoTime() - inicio) / 1_000_000, 1);
+		LOG.info(nome + ": " + n + " inserções, " + comandos + " comandos, " + ms + " ms, " + (n * 1000 / ms)
+				+ " inserções/s");
+		return new int[] { comandos };
+	}
+
+	Set<Integer> register(String nome, int threads, int porThread, IntFunction<Object> fabrica) throws Exception {
+		Set<Integer> ids = ConcurrentHashMap.newKeySet();
+		AtomicInteger contador = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		long inicio = System.nanoTime();
+		try {
+			List<Future<Object>> tarefas = pool.invokeAll(Collections.nCopies(threads, () -> {
+				for (int i = 0; i < porThread; i++) {
+					Object obj = fabrica.apply(contador.incrementAndGet());
+					transactionTemplate.executeWithoutResult(s -> em.persist(obj));
+					ids.add((Integer) em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(obj));
+				}
+				return null;
+			}));
+			for (Future<Object> f : tarefas) {
+				f.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+		long ms = Math.max((System.nanoTime() - inicio) / 1_000_000, 1);
+		int n = threads * porThread;
+		LOG.info(nome + ": " + n + " cadastros em " + threads + " threads, " + ms + " ms, " + (n * 1000 / ms)
+				+ " cadastros/s");
+		return ids;
+	}
+}
@@ -0,0 +1,231 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.jogo.config.JpaConfig;
+import br.com.jogo.domain.Credencial;
+import br.com.jogo.domain.Jogador;
+import br.com.jogo.repositories.CredencialRepository;
+import br.com.jogo.repositories.JogadorRepository;
+import br.com.jogo.repositories.MelhorPontuacaoRepository;
+import br.com.jogo.repositories.RegistroPartidaRepository;
+import br.com.jogo.services.CredencialService;
+import br.com.jogo.services.JogadorAcumulador;
+import br.com.jogo.services.JogadorService;
+import br.com.jogo.services.MelhorPontuacaoService;
+import br.com.jogo.services.RankingService;
+
+/**
+ * Cada acumulador criado aqui é uma inicialização da aplicação sobre o mesmo
+ * diário; abandonar um sem fechar simula uma queda.
+ */
+@DataJpaTest
+@Import(JpaConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class JogadorAcumuladorTests {
+
+	@PersistenceContext
+	EntityManager em;
+	@Autowired
+	TransactionTemplate transactionTemplate;
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+	@Autowired
+	DataSource dataSource;
+	@Autowired
+	JogadorRepository jogadorRepository;
+	@Autowired
+	CredencialRepository credencialRepository;
+	@Autowired
+	RegistroPartidaRepository registroPartidaRepository;
+	@Autowired
+	MelhorPontuacaoRepository melhorPontuacaoRepository;
+
+	@TempDir
+	Path dir;
+	Path diario;
+	Path gravando;
+	Integer id;
+
+	@BeforeEach
+	void setUp() {
+		diario = dir.resolve("acumulador.journal");
+		gravando = dir.resolve("acumulador.journal.flush");
+		id = transactionTemplate.execute(s -> {
+			Jogador obj = new Jogador("jogador", "jogador" + System.nanoTime(), System.nanoTime() + "@jogo.com",
+					"senha");
+			em.persist(obj);
+			return obj.getId();
+		});
+	}
+
+	@Test
+	void applyPendingTest() {
+		JogadorAcumulador obj = novo();
+		obj.add(id, 5, 3, 1);
+		Jogador jog = find();
+		Jogador atual = obj.applyPending(jog);
+		assertNotSame(jog, atual);
+		assertEquals(0, jog.getPontuacaoTotal());
+		assertEquals(5, atual.getPontuacaoTotal());
+		assertEquals(3, atual.getSaldo());
+		assertEquals(1, atual.getQtdPartidas());
+
+		obj.flush();
+		assertEquals(5, pontuacao());
+		jog = find();
+		assertSame(jog, obj.applyPending(jog));
+	}
+
+	@Test
+	void rotateTest() throws IOException {
+		JogadorAcumulador obj = novo();
+		assertEquals(16, Files.size(diario));
+		obj.add(id, 2, 0, 0);
+		obj.add(id, 3, 0, 0);
+		assertEquals(48, Files.size(diario));
+
+		obj.flush();
+		assertEquals(5, pontuacao());
+		assertEquals(16, Files.size(diario));
+		assertTrue(Files.notExists(gravando));
+		obj.flush();
+		assertEquals(5, pontuacao());
+	}
+
+	@Test
+	void replayTest() throws IOException {
+		novo().add(id, 4, 0, 0);
+		novo();
+		assertEquals(4, pontuacao());
+
+		// queda depois do commit do lote e antes de apagar o diário rotacionado
+		JogadorAcumulador obj = novo();
+		obj.add(id, 6, 0, 0);
+		byte[] copia = Files.readAllBytes(diario);
+		obj.flush();
+		assertEquals(10, pontuacao());
+		Files.write(gravando, copia);
+		novo();
+		assertEquals(10, pontuacao());
+		assertTrue(Files.notExists(gravando));
+	}
+
+	@Test
+	void failedBatchTest() {
+		JogadorAcumulador obj = novo();
+		obj.add(id, 7, 0, 0);
+		ReflectionTestUtils.setField(obj, "jdbcTemplate", new JdbcTemplate(dataSource) {
+			@Override
+			public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+				throw new DataAccessResourceFailureException("banco fora do ar");
+			}
+		});
+		obj.flush();
+		assertEquals(0, pontuacao());
+		assertTrue(Files.exists(gravando));
+		// o lote que falhou continua visível e novos incrementos vão para o diário novo
+		obj.add(id, 1, 0, 0);
+		assertEquals(8, obj.applyPending(find()).getPontuacaoTotal());
+
+		// o próximo ciclo refaz o lote antigo e depois grava o diário novo
+		ReflectionTestUtils.setField(obj, "jdbcTemplate", jdbcTemplate);
+		obj.flush();
+		assertEquals(8, pontuacao());
+		assertTrue(Files.notExists(gravando));
+		novo();
+		assertEquals(8, pontuacao());
+	}
+
+	@Test
+	void updateWithPendingTest() {
+		JogadorAcumulador obj = novo();
+		JogadorService service = service(obj);
+		CredencialService credencialService = (CredencialService) ReflectionTestUtils.getField(service,
+				"credencialService");
+		transactionTemplate.executeWithoutResult(s -> credencialService.register(find()));
+		obj.add(id, 5, 3, 1);
+		assertEquals(5, service.findView(id).getPontuacaoTotal());
+
+		// como em Jogo.updateSenha: a senha muda na entidade lida antes e fora da transação do update
+		Jogador jog = service.find(id);
+		assertEquals(0, jog.getPontuacaoTotal());
+		jog.setSenha("nova");
+		jog.setNome("outro nome");
+		transactionTemplate.executeWithoutResult(s -> service.update(jog));
+		assertEquals(0, pontuacao());
+		Jogador gravado = find();
+		assertEquals("nova", gravado.getSenha());
+		assertEquals("outro nome", gravado.getNome());
+		Credencial credencial = credencialRepository.findById(id).get();
+		assertEquals("nova", credencial.getSenha());
+		assertEquals(1, credencial.getVersaoToken());
+
+		obj.flush();
+		assertEquals(5, pontuacao());
+		assertEquals(3, find().getSaldo());
+		assertEquals(1, find().getQtdPartidas());
+	}
+
+	JogadorService service(JogadorAcumulador acumulador) {
+		CredencialService credencialService = new CredencialService();
+		ReflectionTestUtils.setField(credencialService, "repository", credencialRepository);
+		RankingService rankingService = new RankingService();
+		ReflectionTestUtils.setField(rankingService, "repository", jogadorRepository);
+		ReflectionTestUtils.setField(rankingService, "registroPartidaRepository", registroPartidaRepository);
+		ReflectionTestUtils.setField(rankingService, "arquivoSnapshot", dir.resolve("ranking.snapshot").toString());
+		ReflectionTestUtils.setField(rankingService, "acumulador", acumulador);
+		rankingService.load();
+		MelhorPontuacaoService melhorPontuacaoService = new MelhorPontuacaoService();
+		ReflectionTestUtils.setField(melhorPontuacaoService, "repository", melhorPontuacaoRepository);
+		JogadorService obj = new JogadorService();
+		ReflectionTestUtils.setField(obj, "repository", jogadorRepository);
+		ReflectionTestUtils.setField(obj, "credencialService", credencialService);
+		ReflectionTestUtils.setField(obj, "acumulador", acumulador);
+		ReflectionTestUtils.setField(obj, "rankingService", rankingService);
+		ReflectionTestUtils.setField(obj, "melhorPontuacaoService", melhorPontuacaoService);
+		return obj;
+	}
+
+	JogadorAcumulador novo() {
+		JogadorAcumulador obj = new JogadorAcumulador();
+		ReflectionTestUtils.setField(obj, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(obj, "transactionTemplate", transactionTemplate);
+		ReflectionTestUtils.setField(obj, "diario", diario.toString());
+		obj.load();
+		return obj;
+	}
+
+	Jogador find() {
+		return transactionTemplate.execute(s -> em.find(Jogador.class, id));
+	}
+
+	int pontuacao() {
+		return jdbcTemplate.queryForObject("select pontuacao_total from jogador where id = ?", Integer.class, id);
+	}
+}
@@ -0,0 +1,192 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import br.com.jogo.services.Leaderboard;
+import br.com.jogo.services.Leaderboard.Entrada;
+import br.com.jogo.services.Leaderboard.Vizinhanca;
+import br.com.jogo.services.LeaderboardSnapshot;
+import br.com.jogo.services.PontuacaoHistograma;
+import br.com.jogo.services.RankingJanela;
+
+public class LeaderboardTests {
+
+	Leaderboard leaderboard;
+
+	@BeforeEach
+	void setUp() {
+		leaderboard = new Leaderboard();
+		leaderboard.rebuild(List.of(new Object[] { 1, "ana", 10 }, new Object[] { 2, "bia", 30 },
+				new Object[] { 3, "caio", 20 }, new Object[] { 4, "duda", 20 }));
+	}
+
+	@Test
+	void topTest() {
+		assertEquals(List.of(2, 3, 4, 1), ids(leaderboard.top(10)));
+		assertEquals(List.of(2, 3), ids(leaderboard.top(2)));
+		assertEquals(List.of(4, 1), ids(leaderboard.range(3, 5)));
+	}
+
+	@Test
+	void rankOfTest() {
+		assertEquals(1, leaderboard.rankOf(2));
+		assertEquals(3, leaderboard.rankOf(4));
+		assertEquals(0, leaderboard.rankOf(9));
+	}
+
+	@Test
+	void aroundTest() {
+		Vizinhanca obj = leaderboard.around(3, 1);
+		assertEquals(2, obj.getPosicao());
+		assertEquals(List.of(2), ids(obj.getAcima()));
+		assertEquals(List.of(4), ids(obj.getAbaixo()));
+		obj = leaderboard.around(2, 5);
+		assertEquals(1, obj.getPosicao());
+		assertEquals(List.of(), ids(obj.getAcima()));
+		assertEquals(List.of(3, 4, 1), ids(obj.getAbaixo()));
+		assertNull(leaderboard.around(9, 5));
+	}
+
+	@Test
+	void addAndRemoveTest() {
+		leaderboard.add(1, 25);
+		assertEquals(List.of(1, 2, 3, 4), ids(leaderboard.top(10)));
+		leaderboard.remove(2);
+		leaderboard.put(5, "eva", 20);
+		assertEquals(List.of(1, 3, 4, 5), ids(leaderboard.top(10)));
+		assertEquals(4, leaderboard.size());
+	}
+
+	@Test
+	void randomOperationsTest() {
+		Leaderboard obj = new Leaderboard();
+		Random random = new Random(7);
+		Map<Integer, Integer> pontos = new HashMap<>();
+		for (int i = 0; i < 5000; i++) {
+			int id = random.nextInt(300) + 1;
+			if (random.nextInt(10) == 0) {
+				obj.remove(id);
+				pontos.remove(id);
+			} else if (pontos.containsKey(id)) {
+				int p = random.nextInt(20);
+				obj.add(id, p);
+				pontos.merge(id, p, Integer::sum);
+			} else {
+				int p = random.nextInt(100);
+				obj.put(id, "j" + id, p);
+				pontos.put(id, p);
+			}
+		}
+		List<Integer> esperado = new ArrayList<>(pontos.keySet());
+		esperado.sort(Comparator.comparing((Integer id) -> -pontos.get(id)).thenComparing(id -> id));
+		assertEquals(esperado, ids(obj.top(Integer.MAX_VALUE)));
+		for (int i = 0; i < esperado.size(); i++) {
+			assertEquals(i + 1, obj.rankOf(esperado.get(i)));
+			assertEquals(esperado.get(i), obj.range(i + 1, 1).get(0).getJogadorId());
+		}
+	}
+
+	@Test
+	void rankingJanelaTest() {
+		Instant inicio = Instant.parse("2024-01-01T00:00:00Z");
+		Instant[] agora = { inicio };
+		Clock clock = new Clock() {
+			public ZoneId getZone() {
+				return ZoneOffset.UTC;
+			}
+
+			public Clock withZone(ZoneId zone) {
+				return this;
+			}
+
+			public Instant instant() {
+				return agora[0];
+			}
+		};
+		RankingJanela janela = new RankingJanela(Duration.ofHours(1), 24, clock);
+		janela.add(1, "ana", inicio, 10);
+		janela.add(2, "bia", inicio.plusSeconds(3600), 5);
+		janela.add(1, "ana", inicio.minusSeconds(24 * 3600), 50);
+		assertEquals(List.of(1, 2), ids(janela.top(10)));
+		agora[0] = inicio.plusSeconds(24 * 3600);
+		assertEquals(List.of(2), ids(janela.top(10)));
+		assertEquals(1, janela.rankOf(2));
+		agora[0] = inicio.plusSeconds(25 * 3600);
+		assertEquals(List.of(), ids(janela.top(10)));
+	}
+
+	@Test
+	void topPercentualTest() {
+		PontuacaoHistograma histograma = new PontuacaoHistograma();
+		for (int i = 1; i <= 1000; i++) {
+			histograma.add(i * 10);
+		}
+		assertEquals(1000, histograma.size());
+		assertTrue(histograma.topPercentual(10000) <= 7);
+		assertTrue(Math.abs(histograma.topPercentual(5000) - 50) <= 7);
+		assertEquals(100.0, histograma.topPercentual(0));
+		histograma.move(10, 20000);
+		assertTrue(histograma.topPercentual(20000) <= 1);
+	}
+
+	@Test
+	void snapshotTest(@TempDir Path dir) throws IOException {
+		String arquivo = dir.resolve("ranking.snapshot").toString();
+		LeaderboardSnapshot snapshot = new LeaderboardSnapshot(arquivo);
+		assertNull(snapshot.restore(0));
+
+		snapshot.rotate();
+		snapshot.write(leaderboard.top(Integer.MAX_VALUE), 0);
+		snapshot.put(leaderboard.add(1, 25));
+		snapshot.remove(2);
+		leaderboard.remove(2);
+		leaderboard.put(5, "édu", 5);
+		snapshot.put(leaderboard.find(5));
+		// uma gravação que falhou deixa a cauda antiga, que continua valendo
+		snapshot.rotate();
+		snapshot.put(leaderboard.add(3, 1));
+		snapshot.close();
+		Files.write(dir.resolve("ranking.snapshot.tail"), new byte[] { 1, 0, 0 }, StandardOpenOption.APPEND);
+
+		Leaderboard restaurado = new Leaderboard();
+		restaurado.rebuild(new LeaderboardSnapshot(arquivo).restore(0));
+		assertEquals(ids(leaderboard.top(10)), ids(restaurado.top(10)));
+		assertEquals("édu", restaurado.find(5).getNomeUsuario());
+		assertEquals(35, restaurado.find(1).getPontuacao());
+
+		snapshot.rotate();
+		snapshot.write(leaderboard.top(Integer.MAX_VALUE), 0);
+		assertTrue(Files.notExists(dir.resolve("ranking.snapshot.tail.old")));
+		restaurado.rebuild(new LeaderboardSnapshot(arquivo).restore(0));
+		assertEquals(ids(leaderboard.top(10)), ids(restaurado.top(10)));
+
+		Files.write(dir.resolve("ranking.snapshot"), new byte[] { 1, 2, 3 });
+		assertNull(new LeaderboardSnapshot(arquivo).restore(0));
+	}
+
+	List<Integer> ids(List<Entrada> list) {
+		return new ArrayList<>(list.stream().map(Entrada::getJogadorId).toList());
+	}
+}
@@ -0,0 +1,159 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.jogo.config.JpaConfig;
+import br.com.jogo.domain.ConfiguracaoPartida;
+import br.com.jogo.domain.Jogador;
+import br.com.jogo.domain.MelhorPontuacaoPK;
+import br.com.jogo.domain.RegistroPartida;
+import br.com.jogo.repositories.MelhorPontuacaoRepository;
+import br.com.jogo.services.MelhorPontuacaoService;
+
+@DataJpaTest
+@Import({ JpaConfig.class, MelhorPontuacaoService.class })
+public class MelhorPontuacaoTests {
+
+	@PersistenceContext
+	EntityManager em;
+	@Autowired
+	MelhorPontuacaoService service;
+	@Autowired
+	MelhorPontuacaoRepository repository;
+	@Autowired
+	TransactionTemplate transactionTemplate;
+	@Autowired
+	PlatformTransactionManager transactionManager;
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	Jogador ana;
+	Jogador bia;
+	ConfiguracaoPartida cp;
+
+	// no teste sem transação os dados ficam gravados, então os nomes não se repetem
+	@BeforeEach
+	void setUp() {
+		transactionTemplate.executeWithoutResult(s -> {
+			ana = new Jogador("ana", "ana" + System.nanoTime(), System.nanoTime() + "@jogo.com", "senha");
+			bia = new Jogador("bia", "bia" + System.nanoTime(), System.nanoTime() + "@jogo.com", "senha");
+			em.persist(ana);
+			em.persist(bia);
+			cp = new ConfiguracaoPartida(ana, 0);
+			em.persist(cp);
+		});
+	}
+
+	@Test
+	void registerKeepsMaxTest() {
+		service.register(partida(ana, 5));
+		em.flush();
+		em.clear();
+		assertEquals(5, pontuacao(ana));
+
+		service.register(partida(ana, 3));
+		em.flush();
+		em.clear();
+		assertEquals(5, pontuacao(ana));
+
+		service.register(partida(ana, 7));
+		em.flush();
+		em.clear();
+		assertEquals(7, pontuacao(ana));
+	}
+
+	/*
+	 * Outra partida insere a linha e faz commit entre o UPDATE que não achou
+	 * nada e o INSERT desta; a resposta tem que ser gravada mesmo assim.
+	 */
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void registerRaceTest() {
+		AtomicBoolean primeira = new AtomicBoolean(true);
+		TransactionTemplate concorrente = new TransactionTemplate(transactionManager);
+		concorrente.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		ReflectionTestUtils.setField(service, "repository", Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { MelhorPontuacaoRepository.class }, (proxy, method, args) -> {
+					if (method.getName().equals("updatePontuacao") && primeira.getAndSet(false)) {
+						concorrente.executeWithoutResult(s -> jdbcTemplate.update(
+								"insert into melhor_pontuacao (configuracao_partida_id, jogador_id, nome_usuario, "
+										+ "pontuacao) values (?, ?, ?, ?)",
+								cp.getId(), ana.getId(), ana.getNomeUsuario(), 9));
+						return 0;
+					}
+					try {
+						return method.invoke(repository, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				}));
+		try {
+			Integer rpId = transactionTemplate.execute(s -> {
+				RegistroPartida rp = partida(ana, 5);
+				service.register(rp);
+				return rp.getId();
+			});
+			assertEquals(9, pontuacao(ana));
+			assertNotNull(transactionTemplate.execute(s -> em.find(RegistroPartida.class, rpId)));
+
+			transactionTemplate.executeWithoutResult(s -> service.register(partida(ana, 12)));
+			assertEquals(12, pontuacao(ana));
+		} finally {
+			ReflectionTestUtils.setField(service, "repository", repository);
+		}
+	}
+
+	@Test
+	void backfillTest() {
+		partida(ana, 4);
+		partida(ana, 9);
+		partida(bia, 6);
+		RegistroPartida ativa = partida(bia, 20);
+		ativa.setAtiva(true);
+		em.flush();
+		repository.deleteAll();
+		em.flush();
+
+		service.backfill();
+		em.flush();
+		em.clear();
+		assertEquals(2, repository.count());
+		assertEquals(9, pontuacao(ana));
+		// partidas ainda em andamento não contam
+		assertEquals(6, pontuacao(bia));
+	}
+
+	RegistroPartida partida(Jogador jogador, int pontuacao) {
+		RegistroPartida rp = new RegistroPartida(em.find(ConfiguracaoPartida.class, cp.getId()),
+				em.find(Jogador.class, jogador.getId()));
+		rp.setAtiva(false);
+		rp.setPontuacao(pontuacao);
+		em.persist(rp);
+		return rp;
+	}
+
+	int pontuacao(Jogador jogador) {
+		return repository.findById(new MelhorPontuacaoPK(cp.getId(), jogador.getId())).orElseThrow().getPontuacao();
+	}
+}
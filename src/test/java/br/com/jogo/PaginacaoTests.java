@@ -0,0 +1,184 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.jogo.config.JpaConfig;
+import br.com.jogo.domain.ConfiguracaoPartida;
+import br.com.jogo.domain.Jogador;
+import br.com.jogo.domain.RegistroPartida;
+import br.com.jogo.facade.Jogo;
+import br.com.jogo.repositories.JogadorRepository;
+import br.com.jogo.resources.JogadorResource;
+import br.com.jogo.resources.exception.ResourceExceptionHandler;
+import br.com.jogo.resources.utils.Cursor;
+import br.com.jogo.services.JogadorAcumulador;
+import br.com.jogo.services.JogadorService;
+import br.com.jogo.services.RankingService;
+import br.com.jogo.services.RegistroPartidaService;
+
+/**
+ * Listas paginadas por cursor de ponta a ponta: o cursor da resposta de uma
+ * página é mandado de volta para pedir a seguinte.
+ */
+@DataJpaTest
+@Import({ JpaConfig.class, RegistroPartidaService.class })
+public class PaginacaoTests {
+
+	@PersistenceContext
+	EntityManager em;
+	@Autowired
+	JogadorRepository jogadorRepository;
+	@Autowired
+	RegistroPartidaService registroPartidaService;
+
+	ObjectMapper mapper = new ObjectMapper();
+	MockMvc mvc;
+	Jogador ana;
+	List<Integer> partidas;
+
+	@BeforeEach
+	void setUp() {
+		JogadorService jogadorService = new JogadorService();
+		ReflectionTestUtils.setField(jogadorService, "repository", jogadorRepository);
+		ReflectionTestUtils.setField(jogadorService, "acumulador", new JogadorAcumulador());
+		ReflectionTestUtils.setField(jogadorService, "rankingService", new RankingService());
+		Jogo jogo = new Jogo();
+		ReflectionTestUtils.setField(jogo, "jogadorService", jogadorService);
+		ReflectionTestUtils.setField(jogo, "registroPartidaService", registroPartidaService);
+		JogadorResource resource = new JogadorResource();
+		ReflectionTestUtils.setField(resource, "jogo", jogo);
+		mvc = MockMvcBuilders.standaloneSetup(resource).setControllerAdvice(new ResourceExceptionHandler()).build();
+
+		ana = new Jogador("ana", "ana" + System.nanoTime(), System.nanoTime() + "@jogo.com", "senha");
+		ana.setPontuacaoTotal(40);
+		em.persist(ana);
+		ConfiguracaoPartida cp = new ConfiguracaoPartida(ana, 0);
+		em.persist(cp);
+		partidas = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			RegistroPartida rp = new RegistroPartida(cp, ana);
+			em.persist(rp);
+			partidas.add(rp.getId());
+		}
+		em.flush();
+	}
+
+	// a lista de partidas do jogador é decrescente: o cursor aponta para ids menores
+	@Test
+	void partidasTest() throws Exception {
+		List<Integer> lidos = new ArrayList<>();
+		JsonNode pagina = page(get("/jogadores/{id}/partidas", ana.getId()).param("limite", "2"));
+		int paginas = 1;
+		pagina.get("itens").forEach(x -> lidos.add(x.get("id").asInt()));
+		while (!pagina.get("proximoCursor").isNull()) {
+			pagina = page(get("/jogadores/{id}/partidas", ana.getId()).param("limite", "2").param("cursor",
+					pagina.get("proximoCursor").asText()));
+			paginas++;
+			pagina.get("itens").forEach(x -> lidos.add(x.get("id").asInt()));
+		}
+		assertEquals(3, paginas);
+		assertEquals(partidas.stream().sorted((a, b) -> b - a).toList(), lidos);
+	}
+
+	@Test
+	void partidasUltimaPaginaTest() throws Exception {
+		// exatamente o limite: não há página vazia depois desta
+		JsonNode pagina = page(get("/jogadores/{id}/partidas", ana.getId()).param("limite", "5"));
+		assertEquals(5, pagina.get("itens").size());
+		assertTrue(pagina.get("proximoCursor").isNull());
+
+		Jogador bia = new Jogador("bia", "bia" + System.nanoTime(), System.nanoTime() + "@jogo.com", "senha");
+		em.persist(bia);
+		em.flush();
+		pagina = page(get("/jogadores/{id}/partidas", bia.getId()));
+		assertEquals(0, pagina.get("itens").size());
+		assertTrue(pagina.get("proximoCursor").isNull());
+	}
+
+	@Test
+	void partidasCursorInvalidoTest() throws Exception {
+		mvc.perform(get("/jogadores/{id}/partidas", ana.getId()).param("cursor", "não é base64"))
+				.andExpect(status().isBadRequest());
+		// o cursor das partidas tem um valor só; o do ranking, dois
+		mvc.perform(get("/jogadores/{id}/partidas", ana.getId()).param("cursor", "MTAsMjA"))
+				.andExpect(status().isBadRequest());
+		mvc.perform(get("/jogadores/{id}/partidas", -1)).andExpect(status().isNotFound());
+	}
+
+	// as listas gerais são crescentes; o banco pode ter jogadores de outros testes
+	@Test
+	void jogadoresTest() throws Exception {
+		List<Integer> novos = new ArrayList<>(List.of(ana.getId()));
+		for (int i = 0; i < 4; i++) {
+			Jogador obj = new Jogador("jogador", "jogador" + System.nanoTime(), System.nanoTime() + "@jogo.com",
+					"senha");
+			em.persist(obj);
+			novos.add(obj.getId());
+		}
+		em.flush();
+
+		List<Integer> lidos = new ArrayList<>();
+		String cursor = Cursor.encode(ana.getId() - 1);
+		JsonNode pagina;
+		do {
+			pagina = page(get("/jogadores").param("limite", "2").param("cursor", cursor));
+			pagina.get("itens").forEach(x -> lidos.add(x.get("id").asInt()));
+			cursor = pagina.get("proximoCursor").asText(null);
+		} while (cursor != null);
+		assertEquals(novos, lidos.stream().filter(novos::contains).toList());
+		assertEquals(lidos.size(), lidos.stream().distinct().count());
+
+		// depois do último id a página vem vazia e sem próximo cursor
+		pagina = page(get("/jogadores").param("cursor", Cursor.encode(lidos.get(lidos.size() - 1))));
+		assertEquals(0, pagina.get("itens").size());
+		assertTrue(pagina.get("proximoCursor").isNull());
+	}
+
+	@Test
+	void jogadoresCursorInvalidoTest() throws Exception {
+		String cursor = Cursor.encode(ana.getId());
+		for (String invalido : new String[] { "%%%", cursor.substring(0, cursor.length() - 1) + "!", "YWJj",
+				Cursor.encode(ana.getId(), 1) }) {
+			mvc.perform(get("/jogadores").param("cursor", invalido)).andExpect(status().isBadRequest());
+		}
+		mvc.perform(get("/jogadores").param("cursor", cursor)).andExpect(status().isOk());
+	}
+
+	@Test
+	void perfilTest() throws Exception {
+		mvc.perform(get("/jogadores/{id}/perfil", ana.getId())).andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(ana.getId()))
+				.andExpect(jsonPath("$.nomeUsuario").value(ana.getNomeUsuario()))
+				.andExpect(jsonPath("$.pontuacaoTotal").value(40));
+		mvc.perform(get("/jogadores/{id}/perfil", -1)).andExpect(status().isNotFound());
+	}
+
+	JsonNode page(MockHttpServletRequestBuilder request) throws Exception {
+		String json = mvc.perform(request).andExpect(status().isOk()).andReturn().getResponse()
+				.getContentAsString();
+		return mapper.readTree(json);
+	}
+}
@@ -0,0 +1,151 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import br.com.jogo.config.JpaConfig;
+import br.com.jogo.config.StatementCounter;
+import br.com.jogo.domain.Alternativa;
+import br.com.jogo.domain.Categoria;
+import br.com.jogo.domain.ConfiguracaoPartida;
+import br.com.jogo.domain.Questao;
+import br.com.jogo.dto.ConfiguracaoPartidaDTO;
+import br.com.jogo.dto.QuestaoDTO;
+import br.com.jogo.repositories.ConfiguracaoPartidaRepository;
+import br.com.jogo.services.AlternativaIndex;
+import br.com.jogo.services.QuestaoIndex;
+import br.com.jogo.services.QuestaoService;
+
+@DataJpaTest
+@Import({ JpaConfig.class, QuestaoService.class, QuestaoIndex.class, AlternativaIndex.class })
+public class QuestaoConsultaTests {
+
+	@Autowired
+	TestEntityManager em;
+	@Autowired
+	QuestaoService questaoService;
+	@Autowired
+	ConfiguracaoPartidaRepository configuracaoPartidaRepository;
+	@Autowired
+	AlternativaIndex alternativaIndex;
+
+	@Test
+	void findAllDTOTest() {
+		insertQuestoes(5);
+		int poucas = count(() -> assertEquals(5, questaoService.findAllDTO(0, 100).size()));
+		insertQuestoes(40);
+		int muitas = count(() -> {
+			List<QuestaoDTO> list = questaoService.findAllDTO(0, 100);
+			assertEquals(45, list.size());
+			list.forEach(x -> assertEquals(4, x.getAlternativas().size()));
+		});
+		assertEquals(2, poucas);
+		assertEquals(poucas, muitas);
+	}
+
+	@Test
+	void findAllDTOPaginadoTest() {
+		insertQuestoes(45);
+		List<Integer> ids = new ArrayList<>();
+		int ultimo = 0;
+		List<QuestaoDTO> pagina;
+		do {
+			pagina = questaoService.findAllDTO(ultimo, 20);
+			for (QuestaoDTO x : pagina) {
+				assertEquals(4, x.getAlternativas().size());
+				ids.add(x.getId());
+			}
+			ultimo = pagina.isEmpty() ? ultimo : pagina.get(pagina.size() - 1).getId();
+		} while (pagina.size() == 20);
+		assertEquals(45, ids.size());
+		assertEquals(45, new HashSet<>(ids).size());
+	}
+
+	@Test
+	void configuracaoPartidaDTOTest() {
+		Integer id = insertConfiguracao(insertQuestoes(5));
+		int poucas = count(() -> new ConfiguracaoPartidaDTO(configuracaoPartidaRepository.findById(id).get()));
+		Integer outroId = insertConfiguracao(insertQuestoes(40));
+		int muitas = count(() -> new ConfiguracaoPartidaDTO(configuracaoPartidaRepository.findById(outroId).get()));
+		assertEquals(poucas, muitas);
+	}
+
+	@Test
+	void indexAfterCommitTest() {
+		Categoria categoria = em.persist(new Categoria("categoria dos índices"));
+		Questao obj = questaoService.insert(new Questao("desfeita", 1, categoria,
+				new HashSet<>(Set.of(new Alternativa("a", true), new Alternativa("b", false)))));
+		Integer alternativaId = obj.getCorrectAlternative().getId();
+		assertFalse(questaoService.isAvailable(obj.getId()));
+		TestTransaction.end();
+		assertFalse(questaoService.isAvailable(obj.getId()));
+		assertEquals(0, alternativaIndex.lookup(alternativaId));
+
+		TestTransaction.start();
+		categoria = em.persist(new Categoria("categoria dos índices"));
+		obj = questaoService.insert(new Questao("gravada", 1, categoria,
+				new HashSet<>(Set.of(new Alternativa("a", true), new Alternativa("b", false)))));
+		Integer id = obj.getId();
+		alternativaId = obj.getCorrectAlternative().getId();
+		TestTransaction.flagForCommit();
+		TestTransaction.end();
+		assertTrue(questaoService.isAvailable(id));
+		assertTrue(AlternativaIndex.isCorreta(alternativaIndex.lookup(alternativaId)));
+
+		// a exclusão desfeita mantém a questão nos índices; a confirmada a tira
+		TestTransaction.start();
+		questaoService.delete(id);
+		TestTransaction.end();
+		assertTrue(questaoService.isAvailable(id));
+		TestTransaction.start();
+		questaoService.delete(id);
+		em.remove(em.find(Categoria.class, categoria.getId()));
+		TestTransaction.flagForCommit();
+		TestTransaction.end();
+		assertFalse(questaoService.isAvailable(id));
+		assertEquals(0, alternativaIndex.lookup(alternativaId));
+	}
+
+	int count(Runnable consulta) {
+		em.clear();
+		StatementCounter.start();
+		consulta.run();
+		return StatementCounter.stop();
+	}
+
+	Set<Questao> insertQuestoes(int quantidade) {
+		List<Categoria> categorias = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			categorias.add(em.persist(new Categoria("categoria " + quantidade + "-" + i)));
+		}
+		Set<Questao> questoes = new HashSet<>();
+		for (int i = 0; i < quantidade; i++) {
+			questoes.add(em.persist(new Questao("questão " + i, i % 5 + 1, categorias.get(i % 3),
+					Set.of(new Alternativa("a", true), new Alternativa("b", false), new Alternativa("c", false),
+							new Alternativa("d", false)))));
+		}
+		em.flush();
+		return questoes;
+	}
+
+	Integer insertConfiguracao(Set<Questao> questoes) {
+		ConfiguracaoPartida obj = new ConfiguracaoPartida(null);
+		obj.setQuestoes(questoes);
+		em.persist(obj);
+		em.flush();
+		return obj.getId();
+	}
+}
@@ -0,0 +1,85 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.jogo.services.QuestaoIndex;
+
+public class QuestaoIndexTests {
+
+	QuestaoIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = newIndex(42);
+	}
+
+	QuestaoIndex newIndex(long seed) {
+		QuestaoIndex obj = new QuestaoIndex(new Random(seed));
+		obj.put(1, 1, 10);
+		obj.put(2, 2, 10);
+		obj.put(3, 1, 20);
+		obj.put(4, 2, 20);
+		obj.put(5, 3, 30);
+		return obj;
+	}
+
+	@Test
+	void findOneNotInTest() {
+		assertTrue(Set.of(3, 4, 5).contains(index.findOneNotIn(Set.of(1, 2)).get()));
+		assertEquals(Optional.of(5), index.findOneNotIn(Set.of(1, 2, 3, 4)));
+		assertTrue(index.findOneNotIn(Set.of(1, 2, 3, 4, 5)).isEmpty());
+	}
+
+	@Test
+	void findOneByNivelTest() {
+		assertTrue(Set.of(2, 4).contains(index.findOneByNivel(2, Set.of()).get()));
+		assertEquals(Optional.of(4), index.findOneByNivel(2, Set.of(2)));
+		assertTrue(index.findOneByNivel(4, Set.of()).isEmpty());
+	}
+
+	@Test
+	void updateAndRemoveTest() {
+		index.put(1, 3, 30);
+		assertTrue(Set.of(1, 5).contains(index.findOneByNivel(3, Set.of()).get()));
+		assertEquals(Optional.of(3), index.findOneByNivel(1, Set.of()));
+		index.remove(1);
+		assertFalse(index.contains(1));
+		assertEquals(4, index.size());
+		assertEquals(Optional.of(5), index.findOneByNivel(3, Set.of()));
+	}
+
+	@Test
+	void seededSequenceTest() {
+		QuestaoIndex other = newIndex(42);
+		List<Integer> a = new ArrayList<>();
+		List<Integer> b = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			a.add(index.findOneNotIn(Set.of()).get());
+			b.add(other.findOneNotIn(Set.of()).get());
+		}
+		assertEquals(a, b);
+	}
+
+	@Test
+	void uniformSampleTest() {
+		Map<Integer, Integer> contagem = new HashMap<>();
+		for (int i = 0; i < 40000; i++) {
+			contagem.merge(index.findOneNotIn(Set.of(5)).get(), 1, Integer::sum);
+		}
+		assertEquals(Set.of(1, 2, 3, 4), contagem.keySet());
+		contagem.values().forEach(c -> assertTrue(Math.abs(c - 10000) < 600));
+	}
+}
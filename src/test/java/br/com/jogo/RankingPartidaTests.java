@@ -0,0 +1,72 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import br.com.jogo.config.JpaConfig;
+import br.com.jogo.domain.ConfiguracaoPartida;
+import br.com.jogo.domain.Jogador;
+import br.com.jogo.domain.RegistroPartida;
+import br.com.jogo.dto.RankingPartidaDTO;
+import br.com.jogo.services.RegistroPartidaService;
+
+@DataJpaTest
+@Import({ JpaConfig.class, RegistroPartidaService.class })
+public class RankingPartidaTests {
+
+	@PersistenceContext
+	EntityManager em;
+	@Autowired
+	RegistroPartidaService service;
+
+	// empates de pontuação atravessam as fronteiras das páginas de 3
+	@Test
+	void keysetTest() {
+		Jogador ana = new Jogador("ana", "ana", "ana@jogo.com", "senha");
+		Jogador bia = new Jogador("bia", "bia", "bia@jogo.com", "senha");
+		em.persist(ana);
+		em.persist(bia);
+		ConfiguracaoPartida cp = new ConfiguracaoPartida(ana, 0);
+		em.persist(cp);
+		List<RegistroPartida> partidas = new ArrayList<>();
+		for (int pontuacao : new int[] { 10, 10, 5, 10, 10, 5, 5, 10, 0, 10 }) {
+			RegistroPartida rp = new RegistroPartida(cp, partidas.size() % 2 == 0 ? ana : bia);
+			rp.setPontuacao(pontuacao);
+			em.persist(rp);
+			partidas.add(rp);
+		}
+		em.flush();
+
+		List<Integer> esperados = partidas.stream()
+				.sorted(Comparator.comparingInt(RegistroPartida::getPontuacao).thenComparing(RegistroPartida::getId)
+						.reversed())
+				.map(RegistroPartida::getId).toList();
+
+		List<Integer> lidos = new ArrayList<>();
+		Set<Integer> vistos = new HashSet<>();
+		List<RankingPartidaDTO> pagina = service.rank(null, null, 3);
+		while (!pagina.isEmpty()) {
+			for (RankingPartidaDTO x : pagina) {
+				assertTrue(vistos.add(x.getRegistroPartidaId()), "repetida: " + x.getRegistroPartidaId());
+				lidos.add(x.getRegistroPartidaId());
+			}
+			RankingPartidaDTO ultima = pagina.get(pagina.size() - 1);
+			pagina = service.rank(ultima.getPontuacao(), ultima.getRegistroPartidaId(), 3);
+		}
+		assertEquals(esperados, lidos.stream().filter(esperados::contains).toList());
+	}
+}
@@ -0,0 +1,131 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.jogo.config.JpaConfig;
+import br.com.jogo.domain.Jogador;
+import br.com.jogo.domain.enums.Janela;
+import br.com.jogo.repositories.JogadorRepository;
+import br.com.jogo.repositories.RegistroPartidaRepository;
+import br.com.jogo.services.JogadorAcumulador;
+import br.com.jogo.services.Leaderboard.Entrada;
+import br.com.jogo.services.LeaderboardSnapshot;
+import br.com.jogo.services.RankingService;
+
+@DataJpaTest
+@Import(JpaConfig.class)
+public class RankingServiceTests {
+
+	@PersistenceContext
+	EntityManager em;
+	@Autowired
+	JogadorRepository repository;
+	@Autowired
+	RegistroPartidaRepository registroPartidaRepository;
+
+	@TempDir
+	Path dir;
+	Jogador ana;
+	Jogador bia;
+
+	@BeforeEach
+	void setUp() {
+		ana = new Jogador("ana", "ana", "ana@jogo.com", "senha");
+		ana.setPontuacaoTotal(10);
+		bia = new Jogador("bia", "bia", "bia@jogo.com", "senha");
+		bia.setPontuacaoTotal(20);
+		em.persist(ana);
+		em.persist(bia);
+		em.flush();
+	}
+
+	@Test
+	void loadSnapshotTest() {
+		// o nome da fotografia mostra que o ranking não veio do banco
+		write(3, new Entrada(bia.getId(), "bia da fotografia", 20), new Entrada(ana.getId(), "ana", 10));
+		List<Entrada> top = load(3).top(10, Janela.GERAL);
+		assertEquals("bia da fotografia", top.get(0).getNomeUsuario());
+	}
+
+	@Test
+	void restoredDatabaseTest() {
+		// gravada com o banco na sequência 5, que agora voltou para a 4
+		write(5, new Entrada(bia.getId(), "bia da fotografia", 20), new Entrada(ana.getId(), "ana", 15));
+		List<Entrada> top = load(4).top(10, Janela.GERAL);
+		assertEquals("bia", top.get(0).getNomeUsuario());
+		assertEquals(10, top.get(1).getPontuacao());
+	}
+
+	@Test
+	void corruptSnapshotTest() throws IOException {
+		write(3, new Entrada(bia.getId(), "bia da fotografia", 20), new Entrada(ana.getId(), "ana", 10));
+		byte[] bytes = Files.readAllBytes(arquivo());
+		bytes[bytes.length - 1] ^= 1;
+		Files.write(arquivo(), bytes);
+		assertEquals("bia", load(3).top(10, Janela.GERAL).get(0).getNomeUsuario());
+	}
+
+	@Test
+	void tailTest() throws IOException {
+		LeaderboardSnapshot obj = write(3, new Entrada(bia.getId(), "bia da fotografia", 20));
+		obj.put(new Entrada(ana.getId(), "ana da cauda", 10));
+		obj.close();
+		Path cauda = dir.resolve("ranking.snapshot.tail");
+		byte[] registro = Files.readAllBytes(cauda);
+
+		byte[] dois = Arrays.copyOf(registro, registro.length * 2);
+		System.arraycopy(registro, 0, dois, registro.length, registro.length);
+
+		// um registro cortado no fim é de uma escrita interrompida
+		Files.write(cauda, Arrays.copyOf(dois, dois.length - 3));
+		assertEquals("ana da cauda", load(3).top(10, Janela.GERAL).get(1).getNomeUsuario());
+
+		// um registro com CRC errado antes do fim invalida a fotografia
+		write(3, new Entrada(bia.getId(), "bia da fotografia", 20));
+		dois[5] ^= 1;
+		Files.write(cauda, dois);
+		assertEquals("bia", load(3).top(10, Janela.GERAL).get(0).getNomeUsuario());
+	}
+
+	LeaderboardSnapshot write(long sequencia, Entrada... entradas) {
+		LeaderboardSnapshot obj = new LeaderboardSnapshot(arquivo().toString());
+		obj.write(List.of(entradas), sequencia);
+		return obj;
+	}
+
+	Path arquivo() {
+		return dir.resolve("ranking.snapshot");
+	}
+
+	RankingService load(long sequenciaAplicada) {
+		RankingService obj = new RankingService();
+		ReflectionTestUtils.setField(obj, "acumulador", new JogadorAcumulador() {
+			@Override
+			public long sequenciaAplicada() {
+				return sequenciaAplicada;
+			}
+		});
+		ReflectionTestUtils.setField(obj, "repository", repository);
+		ReflectionTestUtils.setField(obj, "registroPartidaRepository", registroPartidaRepository);
+		ReflectionTestUtils.setField(obj, "arquivoSnapshot", arquivo().toString());
+		obj.load();
+		return obj;
+	}
+}
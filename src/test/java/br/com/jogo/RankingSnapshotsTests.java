@@ -0,0 +1,91 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.jogo.domain.enums.Janela;
+import br.com.jogo.dto.RankingPartidaDTO;
+import br.com.jogo.facade.Jogo;
+import br.com.jogo.resources.JogadorResource;
+import br.com.jogo.resources.utils.RankingSnapshots;
+import br.com.jogo.services.Leaderboard.Entrada;
+
+/**
+ * Ranking de jogadores servido pela fotografia publicada, com o facade
+ * trocado por uma lista em memória.
+ */
+public class RankingSnapshotsTests {
+
+	List<Entrada> ranking;
+	List<Integer> limites;
+	RankingSnapshots snapshots;
+	JogadorResource resource;
+
+	@BeforeEach
+	void setUp() {
+		ranking = new ArrayList<>(List.of(new Entrada(2, "bia", 20), new Entrada(1, "ana", 10)));
+		limites = new ArrayList<>();
+		Jogo jogo = new Jogo() {
+			@Override
+			public List<Entrada> rankJogadores(int limite, Janela janela) {
+				limites.add(limite);
+				return ranking.subList(0, Math.min(limite, ranking.size()));
+			}
+
+			@Override
+			public List<RankingPartidaDTO> rankRegistroPartida(Integer pontuacao, Integer id, int quantidade) {
+				return List.of();
+			}
+		};
+		snapshots = new RankingSnapshots();
+		ReflectionTestUtils.setField(snapshots, "jogo", jogo);
+		ReflectionTestUtils.setField(snapshots, "mapper", new ObjectMapper());
+		resource = new JogadorResource();
+		ReflectionTestUtils.setField(resource, "snapshots", snapshots);
+	}
+
+	@Test
+	void etagTest() {
+		ResponseEntity<byte[]> primeira = resource.rank(null, null, null);
+		assertEquals(HttpStatus.OK, primeira.getStatusCode());
+		String etag = primeira.getHeaders().getETag();
+		assertNotNull(etag);
+		assertNotNull(primeira.getBody());
+
+		ResponseEntity<byte[]> segunda = resource.rank(null, null, etag);
+		assertEquals(HttpStatus.NOT_MODIFIED, segunda.getStatusCode());
+		assertEquals(etag, segunda.getHeaders().getETag());
+		assertNull(segunda.getBody());
+
+		// a ETag antiga deixa de valer quando a publicação seguinte vê o ranking novo
+		ranking.add(0, new Entrada(3, "caio", 30));
+		snapshots.publish();
+		ResponseEntity<byte[]> terceira = resource.rank(null, null, etag);
+		assertEquals(HttpStatus.OK, terceira.getStatusCode());
+		assertNotEquals(etag, terceira.getHeaders().getETag());
+	}
+
+	@Test
+	void limiteTest() {
+		// sem limite vale o topo publicado; fora da faixa, o limite é ajustado como nas outras listas
+		resource.rank(null, null, null);
+		resource.rank(0, null, null);
+		resource.rank(10000, null, null);
+		assertEquals(RankingSnapshots.TOPO, limites.get(0));
+		assertEquals(1, limites.get(limites.size() - 2));
+		assertEquals(RankingSnapshots.LIMITE_MAXIMO, limites.get(limites.size() - 1));
+	}
+}
@@ -0,0 +1,87 @@
+package br.com.jogo;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.QueryHint;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.jogo.config.CursorFetch;
+import br.com.jogo.config.JpaConfig;
+import br.com.jogo.domain.ConfiguracaoPartida;
+import br.com.jogo.domain.Jogador;
+import br.com.jogo.domain.RegistroPartida;
+import br.com.jogo.dto.RegistroPartidaExportDTO;
+import br.com.jogo.repositories.RegistroPartidaRepository;
+import br.com.jogo.services.RegistroPartidaService;
+
+@DataJpaTest
+@Import({ JpaConfig.class, RegistroPartidaService.class })
+public class RegistroPartidaExportTests {
+
+	@PersistenceContext
+	EntityManager em;
+	@Autowired
+	RegistroPartidaService service;
+
+	@Test
+	void exportTest() {
+		List<RegistroPartidaExportDTO> list = new ArrayList<>();
+		service.export(list::add);
+		assertEquals(0, list.size());
+
+		Jogador jogador = new Jogador("ana", "ana", "ana@jogo.com", "senha");
+		em.persist(jogador);
+		ConfiguracaoPartida cp = new ConfiguracaoPartida(jogador, 0);
+		em.persist(cp);
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			RegistroPartida rp = new RegistroPartida(cp, jogador);
+			em.persist(rp);
+			ids.add(rp.getId());
+		}
+		em.flush();
+
+		service.export(list::add);
+		assertEquals(ids, list.stream().map(RegistroPartidaExportDTO::getId).toList());
+		assertEquals(jogador.getId(), list.get(0).getJogadorId());
+	}
+
+	@Test
+	void fetchSizeTest() throws NoSuchMethodException {
+		QueryHint[] hints = RegistroPartidaRepository.class.getMethod("streamAll").getAnnotation(QueryHints.class)
+				.value();
+		assertEquals("500", Arrays.stream(hints).filter(x -> x.name().equals(HINT_FETCH_SIZE)).findFirst()
+				.get().value());
+	}
+
+	// sem o useCursorFetch o Connector/J ignora o fetch size e lê a exportação inteira
+	@Test
+	void cursorFetchTest() {
+		CursorFetch obj = new CursorFetch();
+		for (String nome : List.of("primario", "replica")) {
+			HikariDataSource dataSource = new HikariDataSource();
+			dataSource.setJdbcUrl("jdbc:mysql://localhost/jogo");
+			obj.postProcessAfterInitialization(dataSource, nome + "DataSource");
+			assertEquals("true", dataSource.getDataSourceProperties().getProperty(CursorFetch.PROPRIEDADE));
+		}
+		HikariDataSource h2 = new HikariDataSource();
+		h2.setJdbcUrl("jdbc:h2:mem:jogo");
+		obj.postProcessAfterInitialization(h2, "dataSource");
+		assertNull(h2.getDataSourceProperties().getProperty(CursorFetch.PROPRIEDADE));
+	}
+}
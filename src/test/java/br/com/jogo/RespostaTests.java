@@ -0,0 +1,220 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.jogo.config.JpaConfig;
+import br.com.jogo.config.OrcamentoSql;
+import br.com.jogo.domain.Alternativa;
+import br.com.jogo.domain.Categoria;
+import br.com.jogo.domain.ConfiguracaoPartida;
+import br.com.jogo.domain.Jogador;
+import br.com.jogo.domain.Questao;
+import br.com.jogo.domain.RegistroPartida;
+import br.com.jogo.domain.ResultadoResposta;
+import br.com.jogo.domain.enums.Veredito;
+import br.com.jogo.services.AlternativaIndex;
+import br.com.jogo.services.JogadorAcumulador;
+import br.com.jogo.services.MelhorPontuacaoService;
+import br.com.jogo.services.QuestaoIndex;
+import br.com.jogo.services.QuestaoService;
+import br.com.jogo.services.RankingService;
+import br.com.jogo.services.RespostaService;
+import br.com.jogo.services.exceptions.ObjectNotFoundException;
+
+/**
+ * Respostas contra o banco em memória, cada uma na sua própria transação como
+ * em produção, com o orçamento de comandos SQL por resposta no modo estrito.
+ */
+@DataJpaTest
+@Import({ JpaConfig.class, RespostaService.class, QuestaoService.class, QuestaoIndex.class, AlternativaIndex.class,
+		RankingService.class, MelhorPontuacaoService.class, OrcamentoSql.class })
+@TestPropertySource(properties = { "jogo.acumulador.diario=target/resposta-tests.journal",
+		"jogo.ranking.snapshot=target/resposta-tests.snapshot", "jogo.resposta.orcamento-sql-estrito=true" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RespostaTests {
+
+	@TestConfiguration
+	static class Config {
+		// RankingService depende do acumulador pelo nome do bean
+		@Bean
+		JogadorAcumulador jogadorAcumulador() {
+			return new JogadorAcumulador();
+		}
+	}
+
+	@PersistenceContext
+	EntityManager em;
+	@Autowired
+	TransactionTemplate transactionTemplate;
+	@Autowired
+	RespostaService respostaService;
+	@Autowired
+	QuestaoIndex questaoIndex;
+	@Autowired
+	AlternativaIndex alternativaIndex;
+	@Autowired
+	OrcamentoSql orcamentoSql;
+
+	Jogador jogador;
+	List<Questao> questoes;
+
+	@BeforeAll
+	static void clean() throws IOException {
+		for (String arquivo : new String[] { "target/resposta-tests.journal", "target/resposta-tests.journal.flush",
+				"target/resposta-tests.snapshot", "target/resposta-tests.snapshot.tail",
+				"target/resposta-tests.snapshot.tail.old" }) {
+			Files.deleteIfExists(Path.of(arquivo));
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate.executeWithoutResult(s -> {
+			jogador = new Jogador("jogador", "jogador" + System.nanoTime(), System.nanoTime() + "@jogo.com", "senha");
+			em.persist(jogador);
+			Categoria categoria = new Categoria("categoria " + System.nanoTime());
+			questoes = new ArrayList<>();
+			for (int i = 1; i <= 3; i++) {
+				Questao q = new Questao("questão " + i, i, categoria,
+						new HashSet<>(Set.of(new Alternativa("certa", true), new Alternativa("errada 1", false),
+								new Alternativa("errada 2", false), new Alternativa("errada 3", false))));
+				em.persist(q);
+				questoes.add(q);
+			}
+		});
+		questoes.forEach(q -> {
+			questaoIndex.put(q);
+			alternativaIndex.put(q);
+		});
+	}
+
+	@Test
+	void answerOrcamentoTest() {
+		RegistroPartida rp = insertPartida();
+		assertEquals(Veredito.CORRETA, answer(rp, certa(0)).getVeredito());
+		answer(rp, certa(1));
+		// a última resposta encerra a partida e grava a melhor pontuação
+		assertEquals(Veredito.VITORIA, answer(rp, certa(2)).getVeredito());
+	}
+
+	@Test
+	void answerAllOrcamentoTest() {
+		RegistroPartida rp = insertPartida();
+		List<Integer> ids = List.of(certa(0), certa(1), certa(2));
+		List<ResultadoResposta> list = orcamentoSql.run(rp.getId(), ids.size(),
+				() -> respostaService.answerAll(rp.getId(), jogador.getId(), ids));
+		assertEquals(Veredito.VITORIA, list.get(2).getVeredito());
+	}
+
+	@Test
+	void orcamentoEstouradoTest() {
+		RegistroPartida rp = insertPartida();
+		OrcamentoSql obj = new OrcamentoSql();
+		ReflectionTestUtils.setField(obj, "orcamento", 1);
+		assertEquals(Veredito.CORRETA, obj.run(rp.getId(), 1, () -> respostaService.answer(rp.getId(),
+				jogador.getId(), certa(0))).getVeredito());
+		ReflectionTestUtils.setField(obj, "estrito", true);
+		assertThrows(IllegalStateException.class,
+				() -> obj.run(rp.getId(), 1, () -> respostaService.answer(rp.getId(), jogador.getId(), certa(1))));
+		// a exceção da própria resposta não é trocada pela do orçamento
+		assertThrows(ObjectNotFoundException.class,
+				() -> obj.run(rp.getId(), 1, () -> respostaService.answer(rp.getId(), jogador.getId(), -1)));
+	}
+
+	@Test
+	void answerAllStopsOnEndTest() {
+		RegistroPartida rp = insertPartida();
+		List<ResultadoResposta> list = respostaService.answerAll(rp.getId(), jogador.getId(),
+				List.of(certa(0), certa(1), certa(2), certa(0)));
+		assertEquals(3, list.size());
+		assertEquals(Veredito.VITORIA, list.get(2).getVeredito());
+
+		rp = insertPartida();
+		list = respostaService.answerAll(rp.getId(), jogador.getId(), List.of(errada(0), certa(1), certa(2)));
+		assertEquals(1, list.size());
+		assertEquals(Veredito.INCORRETA, list.get(0).getVeredito());
+		assertEquals(certa(0), list.get(0).getAlternativaCorreta().getId());
+	}
+
+	@Test
+	void answerAllUnknownAlternativaTest() {
+		RegistroPartida rp = insertPartida();
+		assertThrows(ObjectNotFoundException.class,
+				() -> respostaService.answerAll(rp.getId(), jogador.getId(), List.of(certa(0), -1, certa(2))));
+		assertPartidaIntacta(rp);
+	}
+
+	@Test
+	void answerAllRollsBackTest() {
+		RegistroPartida rp = insertPartida();
+		// a terceira alternativa existe, mas não é da segunda questão
+		assertThrows(ObjectNotFoundException.class,
+				() -> respostaService.answerAll(rp.getId(), jogador.getId(), List.of(certa(0), certa(2))));
+		assertPartidaIntacta(rp);
+		assertEquals(Veredito.CORRETA, respostaService.answer(rp.getId(), jogador.getId(), certa(0)).getVeredito());
+	}
+
+	ResultadoResposta answer(RegistroPartida rp, Integer alternativaId) {
+		return orcamentoSql.run(rp.getId(), 1, () -> respostaService.answer(rp.getId(), jogador.getId(), alternativaId));
+	}
+
+	void assertPartidaIntacta(RegistroPartida rp) {
+		transactionTemplate.executeWithoutResult(s -> {
+			RegistroPartida obj = em.find(RegistroPartida.class, rp.getId());
+			assertTrue(obj.isAtiva());
+			assertEquals(0, obj.getPontuacao());
+			assertEquals(0, obj.getPosicaoBaralho());
+			assertEquals(questoes.get(0).getId(), obj.getUltimaQuestao().getId());
+		});
+	}
+
+	RegistroPartida insertPartida() {
+		return transactionTemplate.execute(s -> {
+			Jogador jog = em.find(Jogador.class, jogador.getId());
+			ConfiguracaoPartida cp = new ConfiguracaoPartida(jog, 0);
+			cp.setBaralho(questoes.stream().mapToInt(Questao::getId).toArray());
+			cp.setQuestoes(new HashSet<>(Set.of(em.find(Questao.class, questoes.get(0).getId()))));
+			RegistroPartida rp = new RegistroPartida(cp, jog);
+			rp.setPosicaoBaralho(0);
+			rp.setUltimaQuestao(cp.getQuestoes().iterator().next());
+			em.persist(rp);
+			return rp;
+		});
+	}
+
+	Integer certa(int i) {
+		return questoes.get(i).getCorrectAlternative().getId();
+	}
+
+	Integer errada(int i) {
+		return questoes.get(i).getAlternativas().stream().filter(a -> !a.isCorreta()).findFirst().orElseThrow()
+				.getId();
+	}
+}
@@ -0,0 +1,124 @@
+package br.com.jogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.jogo.config.DataSourceConfig;
+import br.com.jogo.config.JpaConfig;
+import br.com.jogo.config.RoutingFilter;
+import br.com.jogo.domain.Credencial;
+import br.com.jogo.repositories.CredencialRepository;
+
+/**
+ * Dois bancos H2 em memória fazem o papel do primário e da réplica; cada
+ * consulta devolve o nome do banco que a atendeu. O esquema só é criado no
+ * primário.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ JpaConfig.class, DataSourceConfig.class })
+@TestPropertySource(properties = { "spring.datasource.url=jdbc:h2:mem:primario;DB_CLOSE_DELAY=-1",
+		"jogo.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+		"jogo.datasource.replica-espera=60000" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RoutingDataSourceTests {
+
+	@Autowired
+	DataSource dataSource;
+	@Autowired
+	@Qualifier("replicaDataSource")
+	HikariDataSource replica;
+	@Autowired
+	PlatformTransactionManager transactionManager;
+	@Autowired
+	CredencialRepository credencialRepository;
+
+	@Test
+	void transacaoTest() {
+		assertEquals("PRIMARIO", banco(false));
+		assertEquals("REPLICA", banco(true));
+		// fora de transação a conexão vai para o primário
+		assertEquals("PRIMARIO", new JdbcTemplate(dataSource).queryForObject("select database()", String.class));
+	}
+
+	@Test
+	void requisicaoTest() throws Exception {
+		assertEquals("REPLICA", banco("GET", "/questoes", true));
+		assertEquals("PRIMARIO", banco("GET", "/questoes", false));
+		assertEquals("REPLICA", banco("GET", "/jogadores/ranking", true));
+		assertEquals("PRIMARIO", banco("POST", "/questoes", true));
+		// a partida em andamento e o próprio jogador são lidos logo depois de gravados
+		assertEquals("PRIMARIO", banco("GET", "/partidas/5", true));
+		assertEquals("PRIMARIO", banco("GET", "/partidas/5/questao", true));
+		assertEquals("PRIMARIO", banco("GET", "/jogadores/5", true));
+		assertEquals("REPLICA", banco("GET", "/partidas/ranking", true));
+		// o destino fixado pela requisição não vaza para a thread
+		assertEquals("REPLICA", banco(true));
+	}
+
+	// a réplica não tem o esquema, então a busca só encontra a credencial no primário
+	@Test
+	void credencialTest() throws Exception {
+		credencialRepository.save(new Credencial(1, "ana@jogo.com", 2, "senha"));
+		boolean[] encontrada = new boolean[1];
+		new RoutingFilter().doFilter(new MockHttpServletRequest("GET", "/questoes"), new MockHttpServletResponse(),
+				new MockFilterChain() {
+					@Override
+					public void doFilter(ServletRequest request, ServletResponse response) {
+						encontrada[0] = credencialRepository.findByEmail("ana@jogo.com").isPresent();
+					}
+				});
+		assertTrue(encontrada[0]);
+		credencialRepository.deleteAll();
+	}
+
+	@Test
+	@DirtiesContext
+	void fallbackTest() {
+		replica.close();
+		assertEquals("PRIMARIO", banco(true));
+		assertEquals("PRIMARIO", banco(true));
+	}
+
+	String banco(String method, String uri, boolean readOnly) throws Exception {
+		String[] obj = new String[1];
+		new RoutingFilter().doFilter(new MockHttpServletRequest(method, uri), new MockHttpServletResponse(),
+				new MockFilterChain() {
+					@Override
+					public void doFilter(ServletRequest request, ServletResponse response) {
+						obj[0] = banco(readOnly);
+					}
+				});
+		return obj[0];
+	}
+
+	String banco(boolean readOnly) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(readOnly);
+		return transactionTemplate
+				.execute(s -> new JdbcTemplate(dataSource).queryForObject("select database()", String.class));
+	}
+}